@@ -0,0 +1,56 @@
+#!/bin/bash
+# worker-startup-benchmark.sh
+#
+# Mede o cold start do worker: sobe o container N vezes, publica uma mensagem na fila de status de usuário
+# assim que o container é criado e lê, no log, o tempo entre o início da JVM e a primeira mensagem consumida
+# (VideoStartupMetrics). Requer o postgres e o rabbitmq do docker-compose no ar e o arquivo .env.
+#
+# Uso: scripts/worker-startup-benchmark.sh [imagem] [execuções]
+#   scripts/worker-startup-benchmark.sh video-editor-worker:latest 5
+#   scripts/worker-startup-benchmark.sh video-editor-api-service:latest 5   # linha de base, java -jar
+
+set -e
+
+IMAGE=${1:-video-editor-worker:latest}
+RUNS=${2:-5}
+NETWORK=${BENCH_NETWORK:-video-editor_video-editor-network}
+RABBITMQ_API=${BENCH_RABBITMQ_API:-http://localhost:15672}
+QUEUE=user.status.queue
+
+set -a
+source .env
+set +a
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+  name="video-editor-worker-bench-$run"
+  docker rm -f "$name" > /dev/null 2>&1 || true
+  docker run -d --name "$name" --network "$NETWORK" --env-file .env \
+    -e SPRING_PROFILES_ACTIVE=worker "$IMAGE" > /dev/null
+
+  # A mensagem já está na fila quando o worker sobe, como num scale-out com backlog.
+  curl -s -u "$RABBITMQ_USERNAME:$RABBITMQ_PASSWORD" -H "content-type: application/json" \
+    -X POST "$RABBITMQ_API/api/exchanges/%2F/amq.default/publish" \
+    -d "{\"properties\":{},\"routing_key\":\"$QUEUE\",\"payload\":\"$(cat /proc/sys/kernel/random/uuid)\",\"payload_encoding\":\"string\"}" \
+    > /dev/null
+
+  millis=""
+  for _ in $(seq 1 120); do
+    millis=$(docker logs "$name" 2>&1 | sed -n 's/.*Primeira mensagem consumida \([0-9]*\) ms.*/\1/p' | head -1)
+    [ -n "$millis" ] && break
+    sleep 0.5
+  done
+  docker rm -f "$name" > /dev/null
+
+  if [ -z "$millis" ]; then
+    echo "Execução $run: nenhuma mensagem consumida em 60 s"
+    exit 1
+  fi
+  echo "Execução $run: primeira mensagem consumida em $millis ms"
+  results+=("$millis")
+done
+
+printf '%s\n' "${results[@]}" | sort -n | awk '
+  { v[NR] = $1; sum += $1 }
+  END { printf "Imagem %s | min %d ms | mediana %d ms | máx %d ms | média %d ms\n", image, v[1], v[int((NR + 1) / 2)], v[NR], sum / NR }
+' image="$IMAGE"
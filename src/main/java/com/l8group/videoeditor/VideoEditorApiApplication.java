@@ -2,8 +2,10 @@ package com.l8group.videoeditor;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication 
+@EnableScheduling
 public class VideoEditorApiApplication {
 
     public static void main(String[] args) {
@@ -6,8 +6,11 @@ import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -222,4 +225,14 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         return new RabbitTemplate(connectionFactory);
     }
+
+    /**
+     * No desligamento o container espera os listeners em andamento pelo prazo do drain antes de fechar o canal,
+     * para que o ack saia no mesmo canal em vez de a mensagem voltar à fila e o encode ser refeito em outro nó.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> drainAwareContainerCustomizer(
+            @Value("${video.drain.timeout-seconds:300}") long drainTimeoutSeconds) {
+        return container -> container.setShutdownTimeout(drainTimeoutSeconds * 1000);
+    }
 }
@@ -0,0 +1,20 @@
+package com.l8group.videoeditor.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Bean do papel scheduler (retentativas periódicas). Ativo com o perfil {@code scheduler} ou quando nenhum perfil
+ * de papel está ativo.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Profile({"scheduler", "!api & !worker"})
+public @interface SchedulerRole {
+}
@@ -1,5 +1,6 @@
 package com.l8group.videoeditor.controllers;
 
+import com.l8group.videoeditor.config.ApiRole;
 import com.l8group.videoeditor.dtos.AuthenticationResponse;
 import com.l8group.videoeditor.dtos.UserResponseDto;
 import com.l8group.videoeditor.requests.LoginRequest;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+@ApiRole
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
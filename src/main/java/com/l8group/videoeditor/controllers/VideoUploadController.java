@@ -5,30 +5,42 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.l8group.videoeditor.config.ApiRole;
 import com.l8group.videoeditor.dtos.VideoBatchResponseDTO;
-import com.l8group.videoeditor.dtos.VideoFileListDTO;
+import com.l8group.videoeditor.dtos.VideoFilePageDTO;
 import com.l8group.videoeditor.dtos.VideoFileResponseDTO;
+import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.requests.VideoBatchRequest;
 import com.l8group.videoeditor.services.VideoBatchService;
 import com.l8group.videoeditor.services.VideoDownloadService;
 import com.l8group.videoeditor.services.VideoFileService;
+import com.l8group.videoeditor.services.VideoIdempotencyService;
+import com.l8group.videoeditor.services.VideoJobControlService;
+import com.l8group.videoeditor.services.VideoListingService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+@ApiRole
 @RestController
 @RequestMapping("/api/videos")
 @RequiredArgsConstructor
@@ -38,12 +50,28 @@ public class VideoUploadController {
     private final VideoFileService videoFileService;
     private final VideoBatchService videoBatchService;
     private final VideoDownloadService videoDownloadService;
+    private final VideoListingService videoListingService;
+    private final VideoIdempotencyService videoIdempotencyService;
+    private final VideoJobControlService videoJobControlService;
     
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> upload(
-            @RequestParam(value = "file", required = false) List<MultipartFile> files) {
+    public ResponseEntity<?> upload(
+            @RequestParam(value = "file", required = false) List<MultipartFile> files,
+            @RequestHeader(value = VideoIdempotencyService.HEADER, required = false) String idempotencyKey)
+            throws IOException {
+        // Impressão digital pelos metadados das partes: calcular o hash do conteúdo custaria uma leitura extra
+        // de cada arquivo, que pode ter vários GB.
+        List<List<Object>> fingerprint = files == null ? List.of()
+                : files.stream()
+                        .map(file -> List.<Object>of(String.valueOf(file.getOriginalFilename()), file.getSize(),
+                                String.valueOf(file.getContentType())))
+                        .toList();
+        return videoIdempotencyService.execute("UPLOAD", idempotencyKey,
+                videoIdempotencyService.fingerprint(fingerprint), () -> uploadFiles(files));
+    }
 
+    private VideoIdempotencyService.Result uploadFiles(List<MultipartFile> files) {
         List<VideoFileResponseDTO> successList = new ArrayList<>();
         List<Map<String, String>> errorList = new ArrayList<>();
 
@@ -89,14 +117,41 @@ public class VideoUploadController {
             result.put("errors", errorList);
 
         HttpStatus status = successList.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
-        return ResponseEntity.status(status).body(result);
+        UUID resourceId = successList.isEmpty() ? null : successList.get(0).getId();
+        return new VideoIdempotencyService.Result(ResponseEntity.status(status).body(result), resourceId);
     }
 
     @PostMapping("/batch-process")
-    public ResponseEntity<?> processBatch(@Valid @RequestBody VideoBatchRequest request) throws IOException {
+    public ResponseEntity<?> processBatch(@Valid @RequestBody VideoBatchRequest request,
+            @RequestHeader(value = VideoIdempotencyService.HEADER, required = false) String idempotencyKey)
+            throws IOException {
         log.info("Recebida solicitação de processamento em lote: {}", request);
+        return videoIdempotencyService.execute("BATCH", idempotencyKey, videoIdempotencyService.fingerprint(request),
+                () -> submitBatch(request));
+    }
+
+    private VideoIdempotencyService.Result submitBatch(VideoBatchRequest request) throws IOException {
+        if (request.separateClipsRequested()) {
+            List<VideoBatchResponseDTO> responses = videoBatchService.processBatchClips(request);
+            return new VideoIdempotencyService.Result(ResponseEntity.ok(responses), firstId(responses));
+        }
+        if (request.hasRenditions() && !request.hlsOutputRequested()) {
+            List<VideoBatchResponseDTO> responses = videoBatchService.processBatchRenditions(request);
+            return new VideoIdempotencyService.Result(ResponseEntity.ok(responses), firstId(responses));
+        }
         VideoBatchResponseDTO response = videoBatchService.processBatch(request);
-        return ResponseEntity.ok(response);
+        return new VideoIdempotencyService.Result(ResponseEntity.ok(response), response.getVideoId());
+    }
+
+    private UUID firstId(List<VideoBatchResponseDTO> responses) {
+        return responses.isEmpty() ? null : responses.get(0).getVideoId();
+    }
+
+    @DeleteMapping("/batch-process/{batchProcessId}")
+    public ResponseEntity<Map<String, Object>> cancelBatch(@PathVariable String batchProcessId) {
+        log.info("Requisição de cancelamento do processamento: {}", batchProcessId);
+        VideoStatusEnum status = videoJobControlService.cancel(batchProcessId);
+        return ResponseEntity.accepted().body(Map.of("id", batchProcessId, "status", status));
     }
 
     @GetMapping("/download/{batchProcessId}")
@@ -105,9 +160,27 @@ public class VideoUploadController {
         return videoDownloadService.downloadVideoStreamFromS3(batchProcessId);
     }
 
+    @GetMapping("/download/{batchProcessId}/hls/{variant}/{playlist}")
+    public ResponseEntity<?> downloadHlsVariantPlaylist(@PathVariable String batchProcessId,
+            @PathVariable String variant, @PathVariable String playlist) {
+        log.info("Requisição de playlist HLS {}/{} para o processamento: {}", variant, playlist, batchProcessId);
+        return videoDownloadService.downloadHlsVariantPlaylist(batchProcessId, variant, playlist);
+    }
+
     @GetMapping
-    public ResponseEntity<List<VideoFileListDTO>> listVideos() {
-        List<VideoFileListDTO> videos = videoFileService.listAllVideos();
-        return ResponseEntity.ok(videos);
+    public ResponseEntity<VideoFilePageDTO> listVideos(
+            @RequestParam(value = "ownerId", required = false) UUID ownerId,
+            @RequestParam(value = "status", required = false) VideoStatusEnum status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        VideoListingService.Page page = videoListingService.listVideos(ownerId, status, cursor, limit);
+        if (webRequest.checkNotModified(page.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(page.etag())
+                .cacheControl(CacheControl.maxAge(0, TimeUnit.SECONDS).cachePrivate().mustRevalidate())
+                .body(page.body());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
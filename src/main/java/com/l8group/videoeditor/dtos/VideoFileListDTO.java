@@ -1,6 +1,8 @@
 package com.l8group.videoeditor.dtos;
 
 import java.time.ZonedDateTime;
+import java.util.UUID;
+
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 
 import lombok.AllArgsConstructor;
@@ -9,6 +11,7 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class VideoFileListDTO {
+    private UUID id;
     private String fileName;
     private ZonedDateTime createdAt;
     private VideoStatusEnum status;
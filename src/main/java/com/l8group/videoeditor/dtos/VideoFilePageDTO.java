@@ -0,0 +1,13 @@
+package com.l8group.videoeditor.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VideoFilePageDTO {
+    private List<VideoFileListDTO> items;
+    private String nextCursor;
+}
@@ -4,6 +4,8 @@ public enum VideoStatusEnum {
     PROCESSING,
     COMPLETED,
     ERROR, 
-    FAILED_PERMANENTLY
+    FAILED_PERMANENTLY,
+    CANCELLED,
+    TIMED_OUT
 }
 
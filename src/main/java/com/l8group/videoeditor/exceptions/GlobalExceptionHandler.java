@@ -1,5 +1,6 @@
 package com.l8group.videoeditor.exceptions;
 
+import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.responses.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -28,8 +29,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             VideoProcessingNotFoundException.class,
-            ProcessedFileNotFoundException.class,
-            NoVideosFoundException.class
+            ProcessedFileNotFoundException.class
     })
     public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex) {
         String errorMessage = "Recurso não encontrado.";
@@ -37,8 +37,6 @@ public class GlobalExceptionHandler {
             errorMessage = ex.getMessage();
         } else if (ex instanceof ProcessedFileNotFoundException) {
             errorMessage = "O arquivo de vídeo processado não foi encontrado: " + ex.getMessage();
-        } else if (ex instanceof NoVideosFoundException) {
-            errorMessage = ex.getMessage();
         }
         return buildResponse(HttpStatus.NOT_FOUND, List.of(errorMessage), ex);
     }
@@ -107,6 +105,38 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, List.of(errorMessage), ex);
     }
 
+    @ExceptionHandler(InsufficientStorageException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStorage(InsufficientStorageException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, List.of(ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(ServiceDrainingException.class)
+    public ResponseEntity<ErrorResponse> handleServiceDraining(ServiceDrainingException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, List.of(ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return buildResponse(HttpStatus.CONFLICT, List.of(ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return buildResponse(HttpStatus.UNPROCESSABLE_ENTITY, List.of(ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(VideoJobNotCancellableException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotCancellable(VideoJobNotCancellableException ex) {
+        return buildResponse(HttpStatus.CONFLICT, List.of(ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(VideoJobTerminatedException.class)
+    public ResponseEntity<ErrorResponse> handleJobTerminated(VideoJobTerminatedException ex) {
+        HttpStatus status = ex.getStatus() == VideoStatusEnum.TIMED_OUT ? HttpStatus.GATEWAY_TIMEOUT
+                : HttpStatus.CONFLICT;
+        return buildResponse(status, List.of(ex.getMessage()), ex);
+    }
+
     @ExceptionHandler(BatchValidationException.class)
     public ResponseEntity<ErrorResponse> handleBatchValidation(BatchValidationException ex) {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getErrors(), ex);
@@ -0,0 +1,7 @@
+package com.l8group.videoeditor.exceptions;
+
+public class InsufficientStorageException extends RuntimeException {
+    public InsufficientStorageException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +0,0 @@
-package com.l8group.videoeditor.exceptions;
-
-public class NoVideosFoundException extends RuntimeException {
-    public NoVideosFoundException(String message) {
-        super(message);
-    }
-}
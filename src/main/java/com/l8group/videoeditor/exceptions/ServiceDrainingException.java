@@ -0,0 +1,7 @@
+package com.l8group.videoeditor.exceptions;
+
+public class ServiceDrainingException extends RuntimeException {
+    public ServiceDrainingException(String message) {
+        super(message);
+    }
+}
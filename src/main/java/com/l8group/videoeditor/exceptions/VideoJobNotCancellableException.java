@@ -0,0 +1,7 @@
+package com.l8group.videoeditor.exceptions;
+
+public class VideoJobNotCancellableException extends RuntimeException {
+    public VideoJobNotCancellableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.l8group.videoeditor.exceptions;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+
+import lombok.Getter;
+
+@Getter
+public class VideoJobTerminatedException extends RuntimeException {
+
+    private final VideoStatusEnum status;
+
+    public VideoJobTerminatedException(VideoStatusEnum status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
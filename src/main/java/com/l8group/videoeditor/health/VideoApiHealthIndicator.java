@@ -0,0 +1,37 @@
+package com.l8group.videoeditor.health;
+
+import java.nio.file.Files;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.l8group.videoeditor.config.ApiRole;
+import com.l8group.videoeditor.services.VideoStorageVolumeService;
+
+/**
+ * Health do papel api: o upload precisa de ao menos um volume de originais gravável.
+ */
+@ApiRole
+@Component
+public class VideoApiHealthIndicator implements HealthIndicator {
+
+    private final VideoStorageVolumeService videoStorageVolumeService;
+
+    public VideoApiHealthIndicator(VideoStorageVolumeService videoStorageVolumeService) {
+        this.videoStorageVolumeService = videoStorageVolumeService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.down();
+        for (VideoStorageVolumeService.Volume volume : videoStorageVolumeService.getUploadVolumes()) {
+            boolean writable = Files.isDirectory(volume.getRoot()) && Files.isWritable(volume.getRoot());
+            if (writable) {
+                builder.up();
+            }
+            builder.withDetail(volume.getRoot().toString(), writable ? volume.getUsableSpace() : "indisponível");
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.l8group.videoeditor.health;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.l8group.videoeditor.services.VideoDrainService;
+
+/**
+ * /actuator/drain: estado do drain, jobs e encodes em andamento. Continua respondendo durante o drain, já que o
+ * servidor HTTP só para depois dele.
+ */
+@Component
+@Endpoint(id = "drain")
+public class VideoDrainEndpoint {
+
+    private final VideoDrainService videoDrainService;
+
+    public VideoDrainEndpoint(VideoDrainService videoDrainService) {
+        this.videoDrainService = videoDrainService;
+    }
+
+    @ReadOperation
+    public VideoDrainService.Status drain() {
+        return videoDrainService.getStatus();
+    }
+}
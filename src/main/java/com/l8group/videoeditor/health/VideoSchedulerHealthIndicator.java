@@ -0,0 +1,42 @@
+package com.l8group.videoeditor.health;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.l8group.videoeditor.config.SchedulerRole;
+import com.l8group.videoeditor.tasks.VideoRetryScheduler;
+
+/**
+ * Health do papel scheduler: a última execução completa das retentativas não pode ser mais antiga que o limite
+ * configurado. Antes da primeira execução o prazo conta a partir da subida da aplicação.
+ */
+@SchedulerRole
+@Component
+public class VideoSchedulerHealthIndicator implements HealthIndicator {
+
+    private final VideoRetryScheduler videoRetryScheduler;
+    private final Duration maxStaleness;
+    private final Instant startedAt = Instant.now();
+
+    public VideoSchedulerHealthIndicator(VideoRetryScheduler videoRetryScheduler,
+            @Value("${video.health.scheduler-max-staleness-ms:1800000}") long maxStalenessMs) {
+        this.videoRetryScheduler = videoRetryScheduler;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+    }
+
+    @Override
+    public Health health() {
+        Instant lastRun = videoRetryScheduler.getLastCompletedRun();
+        Instant reference = lastRun != null ? lastRun : startedAt;
+        boolean stale = Duration.between(reference, Instant.now()).compareTo(maxStaleness) > 0;
+        return (stale ? Health.down() : Health.up())
+                .withDetail("lastCompletedRun", lastRun != null ? lastRun.toString() : "nenhuma")
+                .withDetail("maxStalenessMs", maxStaleness.toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.l8group.videoeditor.health;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.l8group.videoeditor.config.WorkerRole;
+import com.l8group.videoeditor.services.VideoStorageVolumeService;
+
+/**
+ * Health do papel worker: consumidores do RabbitMQ rodando, ffmpeg executável e ao menos um volume temporário
+ * gravável. A sondagem do ffmpeg abre um processo, então o resultado fica guardado por um intervalo.
+ */
+@WorkerRole
+@Component
+public class VideoWorkerHealthIndicator implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoWorkerHealthIndicator.class);
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final VideoStorageVolumeService videoStorageVolumeService;
+    private final long ffmpegProbeIntervalMillis;
+
+    private volatile boolean ffmpegAvailable;
+    private volatile long ffmpegProbedAtMillis;
+
+    public VideoWorkerHealthIndicator(RabbitListenerEndpointRegistry listenerRegistry,
+            VideoStorageVolumeService videoStorageVolumeService,
+            @Value("${video.health.ffmpeg-probe-interval-seconds:300}") long ffmpegProbeIntervalSeconds) {
+        this.listenerRegistry = listenerRegistry;
+        this.videoStorageVolumeService = videoStorageVolumeService;
+        this.ffmpegProbeIntervalMillis = TimeUnit.SECONDS.toMillis(ffmpegProbeIntervalSeconds);
+    }
+
+    @Override
+    public Health health() {
+        long listeners = listenerRegistry.getListenerContainers().size();
+        long running = listenerRegistry.getListenerContainers().stream()
+                .filter(MessageListenerContainer::isRunning)
+                .count();
+        boolean ffmpeg = isFfmpegAvailable();
+        boolean tempVolume = videoStorageVolumeService.getTempVolumes().stream()
+                .anyMatch(volume -> Files.isDirectory(volume.getRoot()) && Files.isWritable(volume.getRoot()));
+
+        Health.Builder builder = listeners > 0 && running == listeners && ffmpeg && tempVolume
+                ? Health.up()
+                : Health.down();
+        return builder
+                .withDetail("listeners", listeners)
+                .withDetail("listenersRunning", running)
+                .withDetail("ffmpeg", ffmpeg)
+                .withDetail("tempVolumeWritable", tempVolume)
+                .build();
+    }
+
+    private boolean isFfmpegAvailable() {
+        long now = System.currentTimeMillis();
+        if (ffmpegAvailable && now - ffmpegProbedAtMillis < ffmpegProbeIntervalMillis) {
+            return true;
+        }
+        ffmpegAvailable = probeFfmpeg();
+        ffmpegProbedAtMillis = now;
+        return ffmpegAvailable;
+    }
+
+    private boolean probeFfmpeg() {
+        try {
+            Process process = new ProcessBuilder("ffmpeg", "-version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (Exception e) {
+            logger.warn("ffmpeg indisponível para o worker: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -75,4 +75,26 @@ public class VideoBatchMetrics {
     public void setProcessedFileSize(Long size) {
         processedFileSize.set(size);
     }
+
+    /**
+     * Job encerrado por cancelamento ou prazo. O tempo de CPU é o que os encodes encerrados já tinham consumido:
+     * trabalho descartado, e a partir dali o núcleo volta a ficar livre.
+     */
+    public void recordJobKilled(String reason, int encodes, double cpuSeconds) {
+        Counter.builder("video_batch_jobs_killed_total")
+                .description("Total de jobs em lote encerrados por cancelamento ou prazo")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        Counter.builder("video_batch_killed_encodes_total")
+                .description("Total de processos do FFmpeg encerrados por cancelamento ou prazo")
+                .tag("reason", reason)
+                .register(registry)
+                .increment(encodes);
+        Counter.builder("video_batch_killed_cpu_seconds_total")
+                .description("Segundos de CPU consumidos pelos encodes encerrados por cancelamento ou prazo")
+                .tag("reason", reason)
+                .register(registry)
+                .increment(cpuSeconds);
+    }
 }
\ No newline at end of file
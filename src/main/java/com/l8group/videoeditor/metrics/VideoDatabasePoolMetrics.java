@@ -0,0 +1,37 @@
+package com.l8group.videoeditor.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Conta as etapas externas (FFmpeg, S3) por estado da conexão com o banco na thread que as executa. Junto com
+ * o hikaricp_connections_active do Actuator, mostra que o caminho de encode não segura conexões do pool.
+ */
+@Component
+public class VideoDatabasePoolMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoDatabasePoolMetrics.class);
+
+    private final MeterRegistry registry;
+
+    public VideoDatabasePoolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordExternalStep(String step) {
+        // Transação ativa ou EntityManager/conexão vinculados à thread (ex.: open-in-view) prendem uma conexão.
+        boolean holdingConnection = TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.getResourceMap().isEmpty();
+        if (holdingConnection) {
+            logger.warn("Etapa externa '{}' iniciada com conexão do banco vinculada à thread.", step);
+        }
+        Counter.builder("video_external_step_total")
+                .description("Total de etapas externas (FFmpeg, S3) por estado da conexão com o banco na thread")
+                .tags("step", step, "db_connection", holdingConnection ? "held" : "free")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.l8group.videoeditor.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+
+/**
+ * Submissões com Idempotency-Key por desfecho: {@code executed} roda o job; {@code replayed} e {@code attached}
+ * são retentativas do cliente atendidas sem novo encode ou upload; {@code mismatch} e {@code in_progress} são
+ * recusadas.
+ */
+@Component
+public class VideoIdempotencyMetrics {
+
+    private final MeterRegistry registry;
+
+    public VideoIdempotencyMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordSubmission(String scope, String outcome) {
+        Counter.builder("video_idempotent_submissions_total")
+                .description("Total de submissões com Idempotency-Key por escopo e desfecho")
+                .tags("scope", scope, "outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,64 @@
+package com.l8group.videoeditor.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class VideoMediaCacheMetrics {
+
+    private final Counter cacheHitsTotal;
+    private final Counter cacheMissesTotal;
+    private final Counter cacheEvictionsTotal;
+    private final Timer cacheFetchDurationSeconds;
+    private final AtomicLong cachedBytes = new AtomicLong(0);
+    private final MeterRegistry registry;
+
+    public VideoMediaCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        cacheHitsTotal = Counter.builder("video_media_cache_hits_total")
+                .description("Total de leituras de vídeos originais atendidas pelo cache local")
+                .register(registry);
+
+        cacheMissesTotal = Counter.builder("video_media_cache_misses_total")
+                .description("Total de vídeos originais baixados do S3 por ausência no cache local")
+                .register(registry);
+
+        cacheEvictionsTotal = Counter.builder("video_media_cache_evictions_total")
+                .description("Total de vídeos removidos do cache local por LRU")
+                .register(registry);
+
+        cacheFetchDurationSeconds = Timer.builder("video_media_cache_fetch_duration_seconds")
+                .description("Duração dos downloads do S3 para o cache local em segundos")
+                .register(registry);
+
+        Gauge.builder("video_media_cache_bytes", cachedBytes, AtomicLong::get)
+                .description("Bytes ocupados atualmente pelo cache local de vídeos")
+                .register(registry);
+    }
+
+    public void incrementCacheHits() {
+        cacheHitsTotal.increment();
+    }
+
+    public void incrementCacheMisses() {
+        cacheMissesTotal.increment();
+    }
+
+    public void incrementCacheEvictions() {
+        cacheEvictionsTotal.increment();
+    }
+
+    public Timer.Sample startFetchTimer() {
+        return Timer.start(registry);
+    }
+
+    public void recordFetchDuration(Timer.Sample sample) {
+        sample.stop(cacheFetchDurationSeconds);
+    }
+
+    public void setCachedBytes(long bytes) {
+        cachedBytes.set(bytes);
+    }
+}
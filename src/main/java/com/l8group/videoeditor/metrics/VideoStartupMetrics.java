@@ -0,0 +1,56 @@
+package com.l8group.videoeditor.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tempo de partida medido desde o início da JVM: até a aplicação ficar pronta e até a primeira mensagem
+ * consumida da fila, que é quando um worker recém-escalado passa a render. Base do benchmark de cold start
+ * (scripts/worker-startup-benchmark.sh).
+ */
+@Component
+public class VideoStartupMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoStartupMetrics.class);
+
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstMessageMillis = new AtomicLong(-1);
+
+    public VideoStartupMetrics(MeterRegistry registry) {
+        Gauge.builder("video_startup_ready_seconds", readyMillis, value -> toSeconds(value.get()))
+                .description("Segundos entre o início da JVM e a aplicação pronta")
+                .register(registry);
+
+        Gauge.builder("video_startup_first_message_seconds", firstMessageMillis, value -> toSeconds(value.get()))
+                .description("Segundos entre o início da JVM e a primeira mensagem consumida")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        readyMillis.set(uptime);
+        logger.info("Aplicação pronta {} ms após o início da JVM.", uptime);
+    }
+
+    public void recordMessageConsumed() {
+        if (firstMessageMillis.get() >= 0) {
+            return;
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstMessageMillis.compareAndSet(-1, uptime)) {
+            logger.info("Primeira mensagem consumida {} ms após o início da JVM.", uptime);
+        }
+    }
+
+    private static double toSeconds(long millis) {
+        return millis < 0 ? Double.NaN : millis / 1000.0;
+    }
+}
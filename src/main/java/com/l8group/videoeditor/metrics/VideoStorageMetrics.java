@@ -0,0 +1,39 @@
+package com.l8group.videoeditor.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+@Component
+public class VideoStorageMetrics {
+
+    private final MeterRegistry registry;
+
+    public VideoStorageMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void registerVolume(String volume, String role, LongSupplier usableBytes, IntSupplier activeJobs) {
+        Gauge.builder("video_storage_volume_free_bytes", usableBytes, LongSupplier::getAsLong)
+                .description("Espaço livre em bytes no volume de armazenamento local")
+                .tags("volume", volume, "role", role)
+                .register(registry);
+
+        Gauge.builder("video_storage_volume_active_jobs", activeJobs, IntSupplier::getAsInt)
+                .description("Jobs com workspace aberto no volume de armazenamento local")
+                .tags("volume", volume, "role", role)
+                .register(registry);
+    }
+
+    public void recordBytesWritten(String volume, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        Counter.builder("video_storage_volume_written_bytes_total")
+                .description("Total de bytes gravados no volume de armazenamento local")
+                .tags("volume", volume)
+                .register(registry)
+                .increment(bytes);
+    }
+}
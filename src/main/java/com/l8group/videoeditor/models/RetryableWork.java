@@ -0,0 +1,15 @@
+package com.l8group.videoeditor.models;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Entidade retentada pelo {@link com.l8group.videoeditor.tasks.VideoRetryScheduler}. {@code nextAttemptAt} é ao
+ * mesmo tempo o arrendamento (enquanto um nó trabalha no item) e o backoff entre tentativas: o item só volta a
+ * ser reivindicado depois desse instante.
+ */
+public interface RetryableWork extends StatusTrackable {
+
+    ZonedDateTime getNextAttemptAt();
+
+    void setNextAttemptAt(ZonedDateTime nextAttemptAt);
+}
@@ -0,0 +1,30 @@
+package com.l8group.videoeditor.models;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+
+/**
+ * Entidade com ciclo de vida de status (status, retryCount, updatedTimes), atualizado pelo
+ * {@link com.l8group.videoeditor.services.VideoStatusService} via
+ * {@link com.l8group.videoeditor.repositories.StatusTrackingRepository}.
+ */
+public interface StatusTrackable {
+
+    UUID getId();
+
+    void setId(UUID id);
+
+    VideoStatusEnum getStatus();
+
+    void setStatus(VideoStatusEnum status);
+
+    int getRetryCount();
+
+    void setRetryCount(int retryCount);
+
+    ZonedDateTime getUpdatedTimes();
+
+    void setUpdatedTimes(ZonedDateTime updatedTimes);
+}
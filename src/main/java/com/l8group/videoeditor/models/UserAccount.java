@@ -8,17 +8,22 @@ import lombok.AllArgsConstructor;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 
 @Entity
 @Table(name = "users", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserAccount {
+public class UserAccount implements StatusTrackable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "user_name", nullable = false)
@@ -0,0 +1,53 @@
+package com.l8group.videoeditor.models;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * UUID versão 7 (RFC 9562): 48 bits de timestamp em milissegundos seguidos de bits aleatórios. IDs novos caem
+ * no fim do índice da chave primária em vez de espalhados por ele, e o ID existe antes do INSERT, o que permite
+ * agrupar os INSERTs em lote. Um ID já atribuído pela aplicação é mantido.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    public static UUID next() {
+        long timestamp = System.currentTimeMillis();
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long mostSignificant = (timestamp << 16)
+                | 0x7000L
+                | ((random[0] & 0x0FL) << 8)
+                | (random[1] & 0xFFL);
+        long leastSignificant = 0x8000000000000000L | (random[2] & 0x3FL) << 56;
+        for (int i = 3; i < 10; i++) {
+            leastSignificant |= (random[i] & 0xFFL) << (8 * (9 - i));
+        }
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        Object assigned = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+        return assigned != null ? assigned : next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
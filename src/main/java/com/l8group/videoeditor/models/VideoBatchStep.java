@@ -0,0 +1,50 @@
+package com.l8group.videoeditor.models;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Etapa concluída de um lote: a saída da operação {@code stepIndex} guardada no S3, com o SHA-256 conferido
+ * antes de ser usada como entrada na retomada.
+ */
+@Entity
+@Table(name = "videos_batch_steps",
+        uniqueConstraints = @UniqueConstraint(name = "uk_videos_batch_steps_batch_step",
+                columnNames = {"batch_id", "step_index"}))
+@Data
+@NoArgsConstructor
+public class VideoBatchStep {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id", nullable = false)
+    private VideoProcessingBatch batch;
+
+    @Column(name = "step_index", nullable = false)
+    private int stepIndex;
+
+    @Column(name = "operation_type", nullable = false)
+    private String operationType;
+
+    @Column(name = "artifact_s3_key", columnDefinition = "TEXT", nullable = false)
+    private String artifactS3Key;
+
+    @Column(name = "artifact_format", nullable = false)
+    private String artifactFormat;
+
+    @Column(name = "checksum", length = 64, nullable = false)
+    private String checksum;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdTimes;
+}
@@ -13,10 +13,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_conversions")
 @Data
 @NoArgsConstructor
-public class VideoConversion {
+public class VideoConversion implements StatusTrackable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
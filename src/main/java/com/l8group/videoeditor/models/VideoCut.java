@@ -13,10 +13,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_cuts")
 @Data
 @NoArgsConstructor
-public class VideoCut {
+public class VideoCut implements StatusTrackable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
@@ -13,10 +13,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_download")
 @Data
 @NoArgsConstructor
-public class VideoDownload {
+public class VideoDownload implements RetryableWork {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
@@ -42,6 +42,9 @@ public class VideoDownload {
     @Column(nullable = false)
     private int retryCount = 0;
 
+    @Column(name = "next_attempt_at")
+    private ZonedDateTime nextAttemptAt;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private UserAccount userAccount;
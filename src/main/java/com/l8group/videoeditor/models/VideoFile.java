@@ -5,18 +5,23 @@ import java.util.UUID;
 
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "videos_files")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
-public class VideoFile {
+public class VideoFile implements RetryableWork {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "video_file_name", nullable = false)
@@ -44,10 +49,28 @@ public class VideoFile {
     @Column(name = "video_file_path", nullable = false)
     private String videoFilePath;
 
+    @Column(name = "video_s3_key")
+    private String videoS3Key;
+
+    @Column(name = "mezzanine_file_name")
+    private String mezzanineFileName;
+
+    @Column(name = "mezzanine_s3_key")
+    private String mezzanineS3Key;
+
+    @Column(name = "proxy_file_name")
+    private String proxyFileName;
+
+    @Column(name = "proxy_s3_key")
+    private String proxyS3Key;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private UserAccount userAccount;
 
     @Column(nullable = false)
     private int retryCount = 0;
+
+    @Column(name = "next_attempt_at")
+    private ZonedDateTime nextAttemptAt;
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.l8group.videoeditor.models;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Submissão identificada pela Idempotency-Key do cliente. Sem {@code completedTimes} o job ainda está em
+ * andamento, enquanto o nó que o roda renovar {@code leaseExpiresAt}; depois dele, a resposta gravada é devolvida
+ * às submissões repetidas.
+ */
+@Entity
+@Table(name = "videos_idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_videos_idempotency_keys_scope_owner_key",
+                columnNames = {"scope", "owner_name", "idempotency_key"}))
+@Data
+@NoArgsConstructor
+public class VideoIdempotencyKey {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "scope", length = 32, nullable = false)
+    private String scope;
+
+    @Column(name = "owner_name", nullable = false)
+    private String ownerName;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "request_fingerprint", length = 64, nullable = false)
+    private String requestFingerprint;
+
+    @Column(name = "resource_id")
+    private UUID resourceId;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdTimes;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedTimes;
+
+    @Column(name = "lease_expires_at")
+    private ZonedDateTime leaseExpiresAt;
+}
@@ -13,10 +13,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_overlay")
 @Data
 @NoArgsConstructor
-public class VideoOverlay {
+public class VideoOverlay implements StatusTrackable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
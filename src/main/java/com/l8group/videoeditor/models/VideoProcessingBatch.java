@@ -15,10 +15,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_processing_batches")
 @Data
 @NoArgsConstructor
-public class VideoProcessingBatch {
+public class VideoProcessingBatch implements RetryableWork {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
@@ -45,6 +45,15 @@ public class VideoProcessingBatch {
     @Column(nullable = false)
     private int retryCount = 0;
 
+    @Column(name = "next_attempt_at")
+    private ZonedDateTime nextAttemptAt;
+
+    /**
+     * Pedido original em JSON, gravado quando o diário de etapas está ligado; permite retomar o lote em outro nó.
+     */
+    @Column(name = "request_payload", columnDefinition = "TEXT")
+    private String requestPayload;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private UserAccount userAccount;
@@ -13,10 +13,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "videos_resizes")
 @Data
 @NoArgsConstructor
-public class VideoResize {
+public class VideoResize implements StatusTrackable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne
@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.l8group.videoeditor.config.ConsumerRetryConfig;
+import com.l8group.videoeditor.metrics.VideoStartupMetrics;
+import com.l8group.videoeditor.services.VideoDrainService;
 
 public abstract class AbstractRetryConsumer {
 
@@ -15,26 +17,35 @@ public abstract class AbstractRetryConsumer {
     @Autowired
     private ConsumerRetryConfig retryConfig;
 
+    @Autowired
+    private VideoStartupMetrics startupMetrics;
+
+    @Autowired
+    private VideoDrainService drainService;
+
     protected void executeWithRetry(Runnable task) {
-        int retryCount = 0;
-        while (retryCount < retryConfig.getMaxRetries()) {
-            try {
-                task.run();
-                return;
-            } catch (Exception e) {
-                retryCount++;
-                if (retryCount < retryConfig.getMaxRetries()) {
-                    logger.warn("Erro temporário na tentativa {}. Retentando em {} ms...", retryCount, retryConfig.getRetryDelayMs(), e);
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(retryConfig.getRetryDelayMs());
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        logger.error("Thread interrompida durante espera de retry.", ie);
-                        return;
+        startupMetrics.recordMessageConsumed();
+        try (VideoDrainService.InFlightJob job = drainService.track(getClass().getSimpleName())) {
+            int retryCount = 0;
+            while (retryCount < retryConfig.getMaxRetries()) {
+                try {
+                    task.run();
+                    return;
+                } catch (Exception e) {
+                    retryCount++;
+                    if (retryCount < retryConfig.getMaxRetries()) {
+                        logger.warn("Erro temporário na tentativa {}. Retentando em {} ms...", retryCount, retryConfig.getRetryDelayMs(), e);
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(retryConfig.getRetryDelayMs());
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                            logger.error("Thread interrompida durante espera de retry.", ie);
+                            return;
+                        }
+                    } else {
+                        logger.error("Erro após {} tentativas. Enviando para a DLQ automaticamente via RabbitMQ.", retryCount, e);
+                        throw e;
                     }
-                } else {
-                    logger.error("Erro após {} tentativas. Enviando para a DLQ automaticamente via RabbitMQ.", retryCount, e);
-                    throw e;
                 }
             }
         }
@@ -13,7 +13,9 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import com.l8group.videoeditor.config.RabbitMQConfig;
+import com.l8group.videoeditor.config.WorkerRole;
 
+@WorkerRole
 @Service
 public class UserStatusConsumer extends AbstractRetryConsumer {
 
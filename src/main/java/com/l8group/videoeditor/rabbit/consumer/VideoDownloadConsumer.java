@@ -12,8 +12,10 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import com.l8group.videoeditor.config.RabbitMQConfig;
+import com.l8group.videoeditor.config.WorkerRole;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
+@WorkerRole
 @Service
 public class VideoDownloadConsumer extends AbstractRetryConsumer {
 
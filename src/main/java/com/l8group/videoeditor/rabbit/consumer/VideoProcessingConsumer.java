@@ -13,7 +13,10 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import com.l8group.videoeditor.config.RabbitMQConfig;
+import com.l8group.videoeditor.config.WorkerRole;
+import com.l8group.videoeditor.services.VideoIngestService;
 
+@WorkerRole
 @Service
 public class VideoProcessingConsumer extends AbstractRetryConsumer {
 
@@ -22,6 +25,9 @@ public class VideoProcessingConsumer extends AbstractRetryConsumer {
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    private VideoIngestService videoIngestService;
+
     public VideoProcessingConsumer() {}
 
     @RabbitListener(queues = RabbitMQConfig.VIDEO_PROCESSING_QUEUE)
@@ -29,6 +35,8 @@ public class VideoProcessingConsumer extends AbstractRetryConsumer {
         executeWithRetry(() -> {
             try {
                 UUID videoId = UUID.fromString(videoIdStr);
+                videoIngestService.normalize(videoId);
+                videoIngestService.generateProxy(videoId);
                 logger.info("Vídeo {} processado com sucesso. Processado às: {}", videoId, LocalDateTime.now());
             } catch (IllegalArgumentException e) {
                 logger.error("Erro ao converter UUID: String '{}' não é um UUID válido. Detalhes: {}", videoIdStr, e.getMessage());
@@ -1,6 +1,7 @@
 package com.l8group.videoeditor.rabbit.consumer;
 
 import com.l8group.videoeditor.config.RabbitMQConfig;
+import com.l8group.videoeditor.config.WorkerRole;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -13,6 +14,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
+@WorkerRole
 @Service
 public class VideoResizeConsumer extends AbstractRetryConsumer {
 
@@ -0,0 +1,43 @@
+package com.l8group.videoeditor.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.models.RetryableWork;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Reivindicação de itens para retentativa seguro entre vários nós.
+ */
+@NoRepositoryBean
+public interface RetryableRepository<T extends RetryableWork> extends StatusTrackingRepository<T> {
+
+    /**
+     * Bloqueia uma página de itens vencidos com {@code FOR UPDATE SKIP LOCKED}: linhas já bloqueadas por outro
+     * nó são puladas em vez de esperadas. Deve rodar numa transação, que grava o arrendamento e termina em seguida.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from #{#entityName} e where e.status = :status "
+            + "and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) order by e.updatedTimes")
+    List<T> lockDue(@Param("status") VideoStatusEnum status, @Param("now") ZonedDateTime now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update #{#entityName} e set e.nextAttemptAt = :nextAttemptAt where e.id in :ids")
+    int scheduleNextAttempt(@Param("ids") Collection<UUID> ids, @Param("nextAttemptAt") ZonedDateTime nextAttemptAt);
+}
@@ -0,0 +1,52 @@
+package com.l8group.videoeditor.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.models.StatusTrackable;
+
+/**
+ * Transições de status em um único UPDATE condicional, sem carregar a entidade. Só mudam as linhas que estão em
+ * um dos {@code expectedStatuses} (o estado de origem aceito pela transição); o retorno é a quantidade de linhas
+ * efetivamente atualizadas.
+ */
+@NoRepositoryBean
+public interface StatusTrackingRepository<T extends StatusTrackable> extends JpaRepository<T, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("update #{#entityName} e set e.status = :status, e.updatedTimes = :now "
+            + "where e.id in :ids and e.status in :expectedStatuses")
+    int transitionStatus(@Param("ids") Collection<UUID> ids, @Param("status") VideoStatusEnum status,
+            @Param("now") ZonedDateTime now, @Param("expectedStatuses") Collection<VideoStatusEnum> expectedStatuses);
+
+    @Transactional
+    @Modifying
+    @Query("update #{#entityName} e set e.status = :status, e.retryCount = 0, e.updatedTimes = :now "
+            + "where e.id in :ids and e.status in :expectedStatuses")
+    int completeStatus(@Param("ids") Collection<UUID> ids, @Param("status") VideoStatusEnum status,
+            @Param("now") ZonedDateTime now, @Param("expectedStatuses") Collection<VideoStatusEnum> expectedStatuses);
+
+    /**
+     * Incrementa o retryCount e, ao atingir {@code maxRetries}, grava {@code exhaustedStatus} em vez de
+     * {@code errorStatus}. No SET, o retryCount à direita é o valor anterior da linha.
+     */
+    @Transactional
+    @Modifying
+    @Query("update #{#entityName} e set e.retryCount = e.retryCount + 1, "
+            + "e.status = case when e.retryCount + 1 >= :maxRetries then :exhaustedStatus else :errorStatus end, "
+            + "e.updatedTimes = :now "
+            + "where e.id in :ids and e.status in :expectedStatuses")
+    int failStatus(@Param("ids") Collection<UUID> ids, @Param("errorStatus") VideoStatusEnum errorStatus,
+            @Param("exhaustedStatus") VideoStatusEnum exhaustedStatus, @Param("maxRetries") int maxRetries,
+            @Param("now") ZonedDateTime now, @Param("expectedStatuses") Collection<VideoStatusEnum> expectedStatuses);
+}
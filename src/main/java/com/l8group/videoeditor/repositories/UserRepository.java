@@ -2,7 +2,6 @@ package com.l8group.videoeditor.repositories;
 
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.models.UserAccount;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +9,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserAccount, UUID> {
+public interface UserRepository extends StatusTrackingRepository<UserAccount> {
 
     Optional<UserAccount> findByUserName(String userName);
     Optional<UserAccount> findByEmail(String email);
@@ -1,15 +1,40 @@
 package com.l8group.videoeditor.repositories;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.models.VideoProcessingBatch;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface VideoBatchRepository extends JpaRepository<VideoProcessingBatch, UUID> {
+public interface VideoBatchRepository extends RetryableRepository<VideoProcessingBatch> {
 
     Optional<VideoProcessingBatch> findByVideoFileId(UUID videoFileId);
-}
\ No newline at end of file
+
+    @Query("select b.id from VideoProcessingBatch b where b.id in :ids and b.status = :status")
+    List<UUID> findIdsWithStatus(@Param("ids") Collection<UUID> ids, @Param("status") VideoStatusEnum status);
+
+    /**
+     * Lotes ainda em {@code status} cujo arrendamento venceu sem renovação, ou seja, o nó que os executava caiu.
+     * Mesmo esquema de {@link #lockDue}: SKIP LOCKED, numa transação curta que grava o novo arrendamento.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select b from VideoProcessingBatch b where b.status = :status and b.nextAttemptAt <= :now "
+            + "order by b.nextAttemptAt")
+    List<VideoProcessingBatch> lockStalled(@Param("status") VideoStatusEnum status, @Param("now") ZonedDateTime now,
+            Limit limit);
+}
@@ -0,0 +1,24 @@
+package com.l8group.videoeditor.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.l8group.videoeditor.models.VideoBatchStep;
+
+@Repository
+public interface VideoBatchStepRepository extends JpaRepository<VideoBatchStep, UUID> {
+
+    List<VideoBatchStep> findByBatchIdOrderByStepIndexDesc(UUID batchId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from VideoBatchStep s where s.batch.id = :batchId and s.stepIndex >= :fromStep")
+    int deleteFromStep(@Param("batchId") UUID batchId, @Param("fromStep") int fromStep);
+}
@@ -1,11 +1,10 @@
 package com.l8group.videoeditor.repositories;
 
 import com.l8group.videoeditor.models.VideoDownload;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface VideoDownloadRepository extends JpaRepository<VideoDownload, UUID> {
+public interface VideoDownloadRepository extends RetryableRepository<VideoDownload> {
 }
\ No newline at end of file
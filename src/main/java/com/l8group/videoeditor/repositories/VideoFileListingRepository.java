@@ -0,0 +1,23 @@
+package com.l8group.videoeditor.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.l8group.videoeditor.dtos.VideoFileListDTO;
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+
+/**
+ * Listagem paginada por chave (keyset) sobre (created_at, id), do mais recente para o mais antigo.
+ */
+public interface VideoFileListingRepository {
+
+    /**
+     * @param ownerId        filtra pelo dono do vídeo; nulo para todos
+     * @param status         filtra pelo status; nulo para todos
+     * @param afterCreatedAt created_at do último item da página anterior; nulo na primeira página
+     * @param afterId        id do último item da página anterior; nulo na primeira página
+     */
+    List<VideoFileListDTO> findPage(UUID ownerId, VideoStatusEnum status, ZonedDateTime afterCreatedAt,
+            UUID afterId, int limit);
+}
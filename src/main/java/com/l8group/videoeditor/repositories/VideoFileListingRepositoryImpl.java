@@ -0,0 +1,58 @@
+package com.l8group.videoeditor.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.l8group.videoeditor.dtos.VideoFileListDTO;
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.models.VideoFile;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class VideoFileListingRepositoryImpl implements VideoFileListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Monta só os predicados dos filtros informados: parâmetros opcionais no estilo {@code :p IS NULL} impedem o
+     * Postgres de inferir o tipo do parâmetro e de usar o índice.
+     */
+    @Override
+    public List<VideoFileListDTO> findPage(UUID ownerId, VideoStatusEnum status, ZonedDateTime afterCreatedAt,
+            UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VideoFileListDTO> query = cb.createQuery(VideoFileListDTO.class);
+        Root<VideoFile> video = query.from(VideoFile.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (ownerId != null) {
+            predicates.add(cb.equal(video.get("userAccount").get("id"), ownerId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(video.get("status"), status));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(video.get("createdTimes"), afterCreatedAt),
+                    cb.and(cb.equal(video.get("createdTimes"), afterCreatedAt),
+                            cb.lessThan(video.get("id"), afterId))));
+        }
+
+        query.select(cb.construct(VideoFileListDTO.class, video.get("id"), video.get("videoFileName"),
+                        video.get("createdTimes"), video.get("status")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(video.get("createdTimes")), cb.desc(video.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
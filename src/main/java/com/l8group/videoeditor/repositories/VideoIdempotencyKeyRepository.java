@@ -0,0 +1,43 @@
+package com.l8group.videoeditor.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.l8group.videoeditor.models.VideoIdempotencyKey;
+
+@Repository
+public interface VideoIdempotencyKeyRepository extends JpaRepository<VideoIdempotencyKey, UUID> {
+
+    Optional<VideoIdempotencyKey> findByScopeAndOwnerNameAndIdempotencyKey(String scope, String ownerName,
+            String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from VideoIdempotencyKey k where k.completedTimes < :before")
+    int deleteCompletedBefore(@Param("before") ZonedDateTime before);
+
+    @Transactional
+    @Modifying
+    @Query("update VideoIdempotencyKey k set k.leaseExpiresAt = :leaseExpiresAt "
+            + "where k.id in :ids and k.completedTimes is null")
+    int renewLeases(@Param("ids") Collection<UUID> ids, @Param("leaseExpiresAt") ZonedDateTime leaseExpiresAt);
+
+    /**
+     * Remove a chave em andamento só se o arrendamento ainda estiver vencido, para não liberar uma chave que o
+     * nó dono renovou entre a leitura e a remoção.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from VideoIdempotencyKey k where k.id = :id and k.completedTimes is null "
+            + "and (k.leaseExpiresAt is null or k.leaseExpiresAt < :now)")
+    int deleteIfLeaseExpired(@Param("id") UUID id, @Param("now") ZonedDateTime now);
+}
@@ -2,8 +2,11 @@ package com.l8group.videoeditor.requests;
 
 import com.l8group.videoeditor.utils.VideoOverlayPositionUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 import lombok.Data;
@@ -15,10 +18,65 @@ public class VideoBatchRequest {
     @Size(min = 1, message = "A lista de IDs de vídeo deve conter pelo menos um ID.")
     private List<@NotNull(message = "O ID do vídeo não pode ser nulo.") @NotEmpty(message = "O ID do vídeo não pode estar vazio.") String> videoIds;
 
-    @NotEmpty(message = "A lista de operações a serem realizadas não pode estar vazia. Defina pelo menos uma operação (CUT, RESIZE, CONVERT, OVERLAY).")
     @Valid
     private List<BatchOperation> operations;
 
+    @Valid
+    private List<Rendition> renditions;
+
+    @Pattern(regexp = "^(?i)(FILE|HLS|STREAM)$", message = "O modo de saída informado é inválido. Os modos suportados são: FILE, HLS e STREAM.")
+    private String outputMode;
+
+    private Boolean preview;
+
+    /**
+     * Prazo do job em segundos; vencido, os encodes são encerrados e o lote fica TIMED_OUT.
+     */
+    @Positive(message = "O prazo do job (deadlineSeconds) deve ser maior que zero.")
+    private Integer deadlineSeconds;
+
+    @AssertTrue(message = "A lista de operações a serem realizadas não pode estar vazia. Defina pelo menos uma operação (CUT, RESIZE, CONVERT, OVERLAY).")
+    public boolean isOperationsOrRenditionsPresent() {
+        return (operations != null && !operations.isEmpty()) || hasRenditions();
+    }
+
+    @AssertTrue(message = "O modo de pré-visualização aceita apenas operações com saída em arquivo (sem renditions, HLS ou STREAM).")
+    public boolean isPreviewCompatible() {
+        return !previewRequested() || (!hasRenditions() && !hlsOutputRequested() && !streamOutputRequested());
+    }
+
+    @AssertTrue(message = "Para gerar clipes separados, MULTI_CUT deve ser a única operação do lote, com saída em arquivo.")
+    public boolean isSeparateClipsPlacementValid() {
+        return !separateClipsRequested()
+                || (operations.size() == 1 && !hasRenditions() && !hlsOutputRequested() && !streamOutputRequested());
+    }
+
+    /**
+     * MULTI_CUT sem concatenação gera um arquivo por intervalo, fora da cadeia linear de operações.
+     */
+    public boolean separateClipsRequested() {
+        return operations != null && operations.stream()
+                .anyMatch(operation -> "MULTI_CUT".equalsIgnoreCase(operation.getOperationType())
+                        && operation.getParameters() != null
+                        && Boolean.FALSE.equals(operation.getParameters().getConcatenate()));
+    }
+
+    public boolean previewRequested() {
+        return Boolean.TRUE.equals(preview);
+    }
+
+    public boolean hasRenditions() {
+        return renditions != null && !renditions.isEmpty();
+    }
+
+    public boolean hlsOutputRequested() {
+        return "HLS".equalsIgnoreCase(outputMode);
+    }
+
+    public boolean streamOutputRequested() {
+        return "STREAM".equalsIgnoreCase(outputMode);
+    }
+
     @Data
     public static class BatchOperation {
         @NotNull(message = "O tipo da operação é obrigatório. Os tipos suportados são: CUT, RESIZE, CONVERT e OVERLAY.")
@@ -39,9 +97,30 @@ public class VideoBatchRequest {
         private String watermark;
         private String position;
         private Integer fontSize;
+        @Valid
+        private List<CutRange> ranges;
+        private Boolean concatenate;
 
         public boolean isPositionValid() {
             return position == null || VideoOverlayPositionUtils.isValidPosition(position);
         }
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class CutRange {
+        @NotNull(message = "O tempo de início do intervalo é obrigatório.")
+        private String startTime;
+
+        @NotNull(message = "O tempo de término do intervalo é obrigatório.")
+        private String endTime;
+    }
+
+    @Data
+    public static class Rendition {
+        @NotNull(message = "A largura da renderização é obrigatória.")
+        private String width;
+
+        @NotNull(message = "A altura da renderização é obrigatória.")
+        private String height;
+    }
+}
\ No newline at end of file
@@ -2,13 +2,16 @@ package com.l8group.videoeditor.s3;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
+import java.net.URI;
 import java.net.URL;
 import java.time.Duration;
 
@@ -17,16 +20,23 @@ public class S3SignedUrlService {
 
     private S3Presigner presigner;
 
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
     @PostConstruct
     public void init() {
-        this.presigner = S3Presigner.builder()
+        S3Presigner.Builder builder = S3Presigner.builder()
                 .region(Region.US_EAST_1)
                 .credentialsProvider(
                         ProfileCredentialsProvider.builder()
                                 .profileName("editor-video-s3")
                                 .build()
-                )
-                .build();
+                );
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        this.presigner = builder.build();
     }
 
     public String generateSignedUrl(String bucketName, String objectKey, Duration expiration) {
@@ -1,6 +1,7 @@
 package com.l8group.videoeditor.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.l8group.videoeditor.config.ApiRole;
 import com.l8group.videoeditor.responses.ErrorResponse;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 
+@ApiRole
 @Component
 public class AuthenticationEntry implements AuthenticationEntryPoint {
 
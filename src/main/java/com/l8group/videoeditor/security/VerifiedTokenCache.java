@@ -0,0 +1,83 @@
+package com.l8group.videoeditor.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import com.l8group.videoeditor.config.ApiRole;
+import com.l8group.videoeditor.services.JwtService;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Tokens já verificados, indexados pelo SHA-256 do token. Um acerto não confere assinatura nem consulta o
+ * banco: o mesmo token, byte a byte, já passou pela verificação. A entrada vence no {@code exp} do token ou no
+ * TTL do principal, o que vier primeiro, para que mudanças no usuário apareçam dentro desse prazo.
+ */
+@ApiRole
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${jwt.cache.principal-ttl-seconds:300}")
+    private long principalTtlSeconds;
+
+    private final Map<String, CachedEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CachedEntry> principals = new ConcurrentHashMap<>();
+
+    private record CachedEntry(VideoUserPrincipal principal, long expiresAtMillis) {
+    }
+
+    public VerifiedTokenCache(JwtService jwtService, UserDetailsService userDetailsService) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException token com assinatura inválida ou expirado
+     */
+    public VideoUserPrincipal resolve(String token) {
+        long now = System.currentTimeMillis();
+        String tokenHash = DigestUtils.sha256Hex(token);
+        CachedEntry cached = tokens.get(tokenHash);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.principal();
+        }
+
+        Claims claims = jwtService.verify(token);
+        CachedEntry principal = loadPrincipal(claims.getSubject(), now);
+        long expiresAt = Math.min(claims.getExpiration().getTime(), principal.expiresAtMillis());
+        put(tokens, tokenHash, new CachedEntry(principal.principal(), expiresAt), now);
+        return principal.principal();
+    }
+
+    private CachedEntry loadPrincipal(String username, long now) {
+        CachedEntry cached = principals.get(username);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached;
+        }
+        VideoUserPrincipal principal = (VideoUserPrincipal) userDetailsService.loadUserByUsername(username);
+        CachedEntry entry = new CachedEntry(principal, now + principalTtlSeconds * 1000);
+        put(principals, username, entry, now);
+        return entry;
+    }
+
+    private void put(Map<String, CachedEntry> cache, String key, CachedEntry entry, long now) {
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(existing -> existing.expiresAtMillis() <= now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, entry);
+    }
+}
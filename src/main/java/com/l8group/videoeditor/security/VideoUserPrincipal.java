@@ -0,0 +1,26 @@
+package com.l8group.videoeditor.security;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import org.springframework.security.core.userdetails.User;
+
+import com.l8group.videoeditor.models.UserAccount;
+
+/**
+ * Usuário autenticado com o ID da conta, para que os serviços referenciem o {@link UserAccount} sem buscá-lo
+ * de novo pelo nome.
+ */
+public class VideoUserPrincipal extends User {
+
+    private final UUID userId;
+
+    public VideoUserPrincipal(UserAccount userAccount) {
+        super(userAccount.getUserName(), userAccount.getPassword(), Collections.emptyList());
+        this.userId = userAccount.getId();
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+}
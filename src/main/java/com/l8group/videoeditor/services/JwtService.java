@@ -1,30 +1,38 @@
 package com.l8group.videoeditor.services;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import com.l8group.videoeditor.config.ApiRole;
 
+/**
+ * Chave e parser são montados uma vez: ambos são imutáveis e seguros entre threads.
+ */
+@ApiRole
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${jwt.expiration-time}")
-    private long expirationTime;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationTime;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtService(@Value("${jwt.secret-key}") String secretKey,
+            @Value("${jwt.expiration-time}") long expirationTime) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expirationTime = expirationTime;
     }
 
     public String generateToken(String username) {
@@ -34,7 +42,7 @@ public class JwtService {
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -42,6 +50,15 @@ public class JwtService {
         return extractAllClaims(token).getSubject();
     }
 
+    /**
+     * Confere assinatura e expiração numa única leitura do token.
+     *
+     * @throws JwtException token inválido ou expirado
+     */
+    public Claims verify(String token) {
+        return extractAllClaims(token);
+    }
+
     public boolean validateToken(String token, String username) {
         try {
             Claims claims = extractAllClaims(token);
@@ -55,10 +72,6 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
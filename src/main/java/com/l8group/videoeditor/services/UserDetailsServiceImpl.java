@@ -6,11 +6,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.l8group.videoeditor.config.ApiRole;
 import com.l8group.videoeditor.models.UserAccount;
 import com.l8group.videoeditor.repositories.UserRepository;
+import com.l8group.videoeditor.security.VideoUserPrincipal;
 
-import java.util.Collections;
-
+@ApiRole
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
@@ -22,10 +23,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         UserAccount user = userRepository.findByUserName(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o nome: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUserName(),
-                user.getPassword(),
-                Collections.emptyList() 
-        );
+        return new VideoUserPrincipal(user);
     }
 }
\ No newline at end of file
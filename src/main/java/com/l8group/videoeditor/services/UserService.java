@@ -1,5 +1,6 @@
 package com.l8group.videoeditor.services;
 
+import com.l8group.videoeditor.config.ApiRole;
 import com.l8group.videoeditor.dtos.UserResponseDto;
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.metrics.UserMetrics;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 
+@ApiRole
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -0,0 +1,150 @@
+package com.l8group.videoeditor.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.models.StatusTrackable;
+import com.l8group.videoeditor.models.UuidV7Generator;
+import com.l8group.videoeditor.repositories.StatusTrackingRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gravação das linhas de auditoria das operações (corte, redimensionamento, overlay, conversão). Fora de um lote
+ * cada linha é gravada na hora e tem o status atualizado por UPDATE, como antes. Dentro de um lote
+ * ({@link #openScope()}) as linhas recebem o ID na criação, acumulam o status em memória e são gravadas todas
+ * juntas no {@link AuditScope#flush()}: uma transação, INSERTs agrupados pelo hibernate.jdbc.batch_size. As
+ * mensagens que citam essas linhas ({@link #publish(Runnable)}) só saem depois do commit, para que nenhum
+ * consumidor procure uma linha que ainda não existe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoAuditWriterService {
+
+    private static final ThreadLocal<Pending> PENDING = new ThreadLocal<>();
+
+    private final VideoStatusService videoStatusService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final class Pending {
+        private final List<StatusTrackable> rows = new ArrayList<>();
+        private final List<Runnable> publications = new ArrayList<>();
+    }
+
+    /**
+     * Escopo aberto pelo lote. O lote chama {@link #flush()} antes de se dar por concluído, e uma falha na gravação
+     * chega a ele como exceção; o {@code close()} no {@code finally} grava o que sobrou, inclusive linhas de
+     * operações que falharam. Escopos aninhados reaproveitam o externo.
+     */
+    public final class AuditScope implements AutoCloseable {
+
+        private final boolean owner;
+
+        private AuditScope(boolean owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Grava as linhas pendentes e, após o commit, publica as mensagens adiadas.
+         *
+         * @throws VideoProcessingException se a gravação falhar; as linhas e as mensagens pendentes são descartadas
+         */
+        public void flush() {
+            if (owner) {
+                VideoAuditWriterService.this.flush(PENDING.get());
+            }
+        }
+
+        /**
+         * Grava o que sobrou. Só há sobra no caminho de falha do lote, que já propaga a própria exceção; por isso
+         * uma falha aqui é registrada no log em vez de mascarar a original.
+         */
+        @Override
+        public void close() {
+            if (owner) {
+                Pending pending = PENDING.get();
+                PENDING.remove();
+                try {
+                    VideoAuditWriterService.this.flush(pending);
+                } catch (VideoProcessingException e) {
+                    log.error("[close] {}", e.getMessage(), e.getCause());
+                }
+            }
+        }
+    }
+
+    public AuditScope openScope() {
+        if (PENDING.get() != null) {
+            return new AuditScope(false);
+        }
+        PENDING.set(new Pending());
+        return new AuditScope(true);
+    }
+
+    public <T extends StatusTrackable> T record(StatusTrackingRepository<T> repository, T entity) {
+        Pending pending = PENDING.get();
+        if (pending == null) {
+            return repository.save(entity);
+        }
+        entity.setId(UuidV7Generator.next());
+        pending.rows.add(entity);
+        return entity;
+    }
+
+    /**
+     * Publica uma mensagem que cita linhas de auditoria: na hora, fora de um lote; dentro dele, depois do commit
+     * do {@link AuditScope#flush()}.
+     */
+    public void publish(Runnable publication) {
+        Pending pending = PENDING.get();
+        if (pending == null) {
+            publication.run();
+            return;
+        }
+        pending.publications.add(publication);
+    }
+
+    public <T extends StatusTrackable> void updateStatus(StatusTrackingRepository<T> repository, T entity,
+            VideoStatusEnum status, String errorSource) {
+        Pending pending = PENDING.get();
+        // Identidade, não equals: as entidades usam o equals do Lombok, por valor.
+        if (pending != null && pending.rows.stream().anyMatch(candidate -> candidate == entity)) {
+            videoStatusService.applyEntityStatus(entity, status, errorSource);
+            return;
+        }
+        videoStatusService.updateEntityStatus(repository, entity.getId(), status, errorSource);
+    }
+
+    private void flush(Pending pending) {
+        if (pending == null) {
+            return;
+        }
+        List<StatusTrackable> rows = List.copyOf(pending.rows);
+        List<Runnable> publications = List.copyOf(pending.publications);
+        pending.rows.clear();
+        pending.publications.clear();
+        if (!rows.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rows.forEach(entityManager::persist));
+                log.info("[flush] {} registro(s) de operação gravados em lote.", rows.size());
+            } catch (RuntimeException e) {
+                log.error("[flush] Erro ao gravar {} registro(s) de operação; {} mensagem(ns) descartada(s): {}",
+                        rows.size(), publications.size(), e.getMessage());
+                throw new VideoProcessingException("Erro ao gravar os registros de operação do lote.", e);
+            }
+        }
+        publications.forEach(Runnable::run);
+    }
+}
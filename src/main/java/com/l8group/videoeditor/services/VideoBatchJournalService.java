@@ -0,0 +1,232 @@
+package com.l8group.videoeditor.services;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.l8group.videoeditor.models.VideoBatchStep;
+import com.l8group.videoeditor.models.VideoProcessingBatch;
+import com.l8group.videoeditor.repositories.VideoBatchRepository;
+import com.l8group.videoeditor.repositories.VideoBatchStepRepository;
+import com.l8group.videoeditor.requests.VideoBatchRequest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diário de etapas dos lotes e arrendamento de execução.
+ * <ul>
+ * <li>Arrendamento: enquanto um lote roda, este nó renova o {@code nextAttemptAt} periodicamente, numa thread
+ * própria para que tarefas agendadas demoradas não atrasem a renovação. Se o nó cair, o arrendamento vence e o
+ * lote, ainda em PROCESSING, é retomado pelo {@code VideoRetryScheduler}.</li>
+ * <li>Diário (opcional): o pedido original fica no lote e a saída de cada operação vai para o S3 com o SHA-256.
+ * A retomada baixa a última saída íntegra e segue da operação seguinte, perdendo no máximo uma etapa.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class VideoBatchJournalService {
+
+    private final VideoBatchRepository videoBatchRepository;
+    private final VideoBatchStepRepository videoBatchStepRepository;
+    private final VideoS3Service videoS3Service;
+    private final ObjectMapper objectMapper;
+
+    @Value("${video.batch.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    @Value("${video.batch.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${video.batch.lease-renew-ms:30000}")
+    private long leaseRenewMs;
+
+    private final ScheduledExecutorService leaseExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "video-batch-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<UUID> leasedBatches = ConcurrentHashMap.newKeySet();
+
+    public record Checkpoint(int stepIndex, String filePath) {
+    }
+
+    public final class BatchLease implements AutoCloseable {
+        private final Set<UUID> batchIds = ConcurrentHashMap.newKeySet();
+
+        private BatchLease() {
+        }
+
+        /**
+         * Inclui mais um lote no arrendamento (renderizações e clipes criam um lote por saída).
+         */
+        public void add(UUID batchId) {
+            batchIds.add(batchId);
+            leasedBatches.add(batchId);
+        }
+
+        @Override
+        public void close() {
+            batchIds.forEach(leasedBatches::remove);
+        }
+    }
+
+    public VideoBatchJournalService(VideoBatchRepository videoBatchRepository,
+            VideoBatchStepRepository videoBatchStepRepository, VideoS3Service videoS3Service,
+            ObjectMapper objectMapper) {
+        this.videoBatchRepository = videoBatchRepository;
+        this.videoBatchStepRepository = videoBatchStepRepository;
+        this.videoS3Service = videoS3Service;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void startLeaseRenewal() {
+        leaseExecutor.scheduleWithFixedDelay(this::renewLeases, leaseRenewMs, leaseRenewMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return journalEnabled;
+    }
+
+    public ZonedDateTime leaseExpiry() {
+        return ZonedDateTime.now().plus(Duration.ofMillis(leaseMs));
+    }
+
+    /**
+     * Mantém o arrendamento do lote renovado até o fechamento do escopo.
+     */
+    public BatchLease holdLease(UUID batchId) {
+        BatchLease lease = openLease();
+        lease.add(batchId);
+        return lease;
+    }
+
+    /**
+     * Arrendamento ainda vazio, para jobs que criam vários lotes ({@link BatchLease#add(UUID)}).
+     */
+    public BatchLease openLease() {
+        return new BatchLease();
+    }
+
+    private void renewLeases() {
+        if (leasedBatches.isEmpty()) {
+            return;
+        }
+        try {
+            videoBatchRepository.scheduleNextAttempt(List.copyOf(leasedBatches), leaseExpiry());
+        } catch (RuntimeException e) {
+            log.warn("[renewLeases] Erro ao renovar o arrendamento dos lotes {}: {}", leasedBatches, e.getMessage());
+        }
+    }
+
+    public String serializeRequest(VideoBatchRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o pedido do lote.", e);
+        }
+    }
+
+    public VideoBatchRequest readRequest(VideoProcessingBatch batch) {
+        try {
+            return objectMapper.readValue(batch.getRequestPayload(), VideoBatchRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Pedido do lote " + batch.getId() + " ilegível no diário.", e);
+        }
+    }
+
+    /**
+     * Registra a saída da etapa {@code stepIndex}. Etapas posteriores de uma execução anterior deixam de valer.
+     */
+    public void recordStep(VideoProcessingBatch batch, int stepIndex, String operationType, String artifactPath)
+            throws IOException {
+        File artifact = new File(artifactPath);
+        String format = artifactPath.substring(artifactPath.lastIndexOf('.') + 1);
+        String checksum = sha256(artifact);
+        String s3Key = videoS3Service.uploadCheckpoint(artifact, batch.getId(),
+                String.format("%02d_%s.%s", stepIndex, operationType.toLowerCase(), format));
+
+        videoBatchStepRepository.deleteFromStep(batch.getId(), stepIndex);
+        VideoBatchStep step = new VideoBatchStep();
+        step.setBatch(batch);
+        step.setStepIndex(stepIndex);
+        step.setOperationType(operationType);
+        step.setArtifactS3Key(s3Key);
+        step.setArtifactFormat(format);
+        step.setChecksum(checksum);
+        step.setSizeBytes(artifact.length());
+        step.setCreatedTimes(ZonedDateTime.now());
+        videoBatchStepRepository.save(step);
+        log.info("[recordStep] Lote {} | Etapa {} ({}) registrada: {}", batch.getId(), stepIndex, operationType, s3Key);
+    }
+
+    /**
+     * Baixa para o workspace a saída da etapa mais recente cujo checksum confere. Vazio se nenhuma etapa
+     * registrada estiver íntegra, caso em que o lote recomeça da primeira operação.
+     */
+    public Optional<Checkpoint> restore(UUID batchId, VideoTempWorkspaceService.JobWorkspace workspace) {
+        for (VideoBatchStep step : videoBatchStepRepository.findByBatchIdOrderByStepIndexDesc(batchId)) {
+            String localPath = workspace.newFile(String.format("%02d_%s_retomada.%s", step.getStepIndex(),
+                    step.getOperationType().toLowerCase(), step.getArtifactFormat()));
+            try {
+                videoS3Service.downloadToFile(step.getArtifactS3Key(), Path.of(localPath));
+                if (step.getChecksum().equals(sha256(new File(localPath)))) {
+                    log.info("[restore] Lote {} retomado a partir da etapa {} ({}).", batchId, step.getStepIndex(),
+                            step.getOperationType());
+                    return Optional.of(new Checkpoint(step.getStepIndex(), localPath));
+                }
+                log.warn("[restore] Checksum divergente na etapa {} do lote {}; tentando a anterior.",
+                        step.getStepIndex(), batchId);
+            } catch (IOException e) {
+                log.warn("[restore] Etapa {} do lote {} indisponível: {}", step.getStepIndex(), batchId,
+                        e.getMessage());
+            }
+            new File(localPath).delete();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Remove o diário e os artefatos intermediários de um lote concluído.
+     */
+    public void discard(UUID batchId) {
+        List<VideoBatchStep> steps = videoBatchStepRepository.findByBatchIdOrderByStepIndexDesc(batchId);
+        if (steps.isEmpty()) {
+            return;
+        }
+        videoS3Service.deleteObjects(steps.stream().map(VideoBatchStep::getArtifactS3Key).toList());
+        videoBatchStepRepository.deleteFromStep(batchId, 0);
+    }
+
+    private static String sha256(File file) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            return DigestUtils.sha256Hex(input);
+        }
+    }
+}
@@ -7,28 +7,36 @@ import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.l8group.videoeditor.dtos.VideoBatchResponseDTO;
 import com.l8group.videoeditor.enums.VideoStatusEnum;
 import com.l8group.videoeditor.exceptions.BatchValidationException; 
 import com.l8group.videoeditor.metrics.VideoBatchMetrics;
+import com.l8group.videoeditor.metrics.VideoDatabasePoolMetrics;
 import com.l8group.videoeditor.models.VideoFile;
 import com.l8group.videoeditor.models.VideoProcessingBatch;
 import com.l8group.videoeditor.rabbit.producer.VideoBatchProducer;
 import com.l8group.videoeditor.repositories.VideoBatchRepository;
 import com.l8group.videoeditor.requests.VideoBatchRequest;
+import com.l8group.videoeditor.requests.VideoResizeRequest;
 import com.l8group.videoeditor.utils.VideoFileNameGenerator;
 import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+import com.l8group.videoeditor.utils.VideoProcessorUtils;
 
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Orquestra os lotes. Os métodos não são transacionais de propósito: cada gravação de lote ou transição de
+ * status é uma transação curta e independente antes ou depois das etapas externas, para que nenhum encode do
+ * FFmpeg ou envio ao S3 segure uma conexão do pool.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -41,29 +49,63 @@ public class VideoBatchService {
     private final VideoS3Service s3Service;
     private final VideoOperationService videoOperationExecutor;
     private final VideoFileFinderService videoFileFinderService;
+    private final VideoResizeService videoResizeService;
+    private final VideoCutService videoCutService;
+    private final VideoHlsService videoHlsService;
+    private final VideoStreamingOutputService videoStreamingOutputService;
+    private final VideoSourceService videoSourceService;
+    private final VideoTempWorkspaceService videoTempWorkspaceService;
+    private final VideoDatabasePoolMetrics videoDatabasePoolMetrics;
+    private final VideoAuditWriterService videoAuditWriterService;
+    private final VideoDrainService videoDrainService;
+    private final VideoBatchJournalService videoBatchJournalService;
+    private final VideoJobControlService videoJobControlService;
+
+    private static final List<String> STREAMABLE_FORMATS = List.of("mp4", "mov");
     
 
-    @Value("${video.upload.dir}")
-    private String UPLOAD_DIR;
-
     @Value("${video.temp.dir}")
     private String TEMP_DIR;
 
-    @Transactional
     public VideoBatchResponseDTO processBatch(VideoBatchRequest request) throws IOException {
-        log.info("[processBatch] Iniciando processamento em lote | Vídeos: {} | Operações: {}",
-                request.getVideoIds(), request.getOperations());
+        return runBatch(request, null);
+    }
+
+    /**
+     * Retoma um lote com diário a partir da última etapa íntegra. O status fica a cargo de quem retoma
+     * ({@code VideoRetryScheduler}), que também controla as tentativas.
+     */
+    public void resumeBatch(VideoProcessingBatch batch) throws IOException {
+        if (batch.getRequestPayload() == null) {
+            throw new IllegalStateException("Lote " + batch.getId() + " sem diário; não há como retomá-lo.");
+        }
+        runBatch(videoBatchJournalService.readRequest(batch), batch);
+    }
+
+    private VideoBatchResponseDTO runBatch(VideoBatchRequest request, VideoProcessingBatch resumedBatch)
+            throws IOException {
+        log.info("[processBatch] {} processamento em lote | Vídeos: {} | Operações: {}",
+                resumedBatch == null ? "Iniciando" : "Retomando", request.getVideoIds(), request.getOperations());
 
+        VideoDrainService.InFlightJob drainJob = resumedBatch == null
+                ? videoDrainService.admit("batch")
+                : videoDrainService.track("batch");
+        VideoJobControlService.JobControl jobControl = videoJobControlService.open(request.getDeadlineSeconds());
         videoBatchServiceMetrics.incrementBatchRequests();
         videoBatchServiceMetrics.incrementProcessingQueueSize();
 
         Timer.Sample timerSample = videoBatchServiceMetrics.startBatchProcessingTimer();
 
-        List<String> intermediateFiles = new ArrayList<>();
         VideoProcessingBatch batchProcess = null;
+        VideoBatchJournalService.BatchLease batchLease = null;
         VideoFile originalVideoFile = null;
         String outputFormat = null;
         String currentInputFilePath = null;
+        VideoFile pinnedSource = null;
+        boolean preview = false;
+        VideoTempWorkspaceService.JobWorkspace workspace = null;
+        VideoFileFinderService.LookupScope lookupScope = videoFileFinderService.openScope();
+        VideoAuditWriterService.AuditScope auditScope = videoAuditWriterService.openScope();
 
         try {
             VideoFileStorageUtils.createDirectoryIfNotExists(TEMP_DIR);
@@ -71,98 +113,154 @@ public class VideoBatchService {
             if (request.getVideoIds() == null || request.getVideoIds().isEmpty() || request.getVideoIds().get(0) == null) {
                 throw new BatchValidationException(List.of("Nenhum ID de vídeo fornecido."));
             }
-            String videoId = request.getVideoIds().get(0);
-            originalVideoFile = videoFileFinderService.findById(videoId);
-            if (originalVideoFile == null) {
+            boolean hlsOutput = request.hlsOutputRequested();
+            boolean hlsLadder = hlsOutput && request.hasRenditions();
+            preview = request.previewRequested();
+            List<VideoBatchRequest.BatchOperation> operations = request.getOperations() != null
+                    ? request.getOperations()
+                    : List.of();
+            if (operations.isEmpty() && !hlsLadder) {
                 throw new BatchValidationException(List.of(
-                        "Operation error 'BATCH': Nenhum arquivo de vídeo encontrado correspondente ao ID: '" + videoId + "'"
-                ));
+                        "A lista de operações a serem realizadas não pode estar vazia. Defina pelo menos uma operação (CUT, RESIZE, CONVERT, OVERLAY)."));
             }
+            String videoId = request.getVideoIds().get(0);
+            originalVideoFile = resolveOriginalVideoFile(request);
 
-            videoOperationExecutor.validateAllOperations(videoId, request.getOperations());
-
-            currentInputFilePath = VideoFileStorageUtils.buildFilePath(UPLOAD_DIR,
-                    originalVideoFile.getVideoFileName());
-            outputFormat = originalVideoFile.getVideoFileFormat().replace(".", "");
-
-            
-
-
-            batchProcess = new VideoProcessingBatch();
-            batchProcess.setVideoFile(originalVideoFile);
-            batchProcess.setStatus(VideoStatusEnum.PROCESSING);
-            batchProcess.setCreatedTimes(ZonedDateTime.now());
-            batchProcess.setUpdatedTimes(ZonedDateTime.now());
-            batchProcess.setS3Url(null);
-            batchProcess.setUserAccount(originalVideoFile.getUserAccount());
+            if (!operations.isEmpty()) {
+                videoOperationExecutor.validateAllOperations(videoId, operations);
+            }
+            List<String> ladderResolutions = hlsLadder
+                    ? videoOperationExecutor.validateRenditions(videoId, request.getRenditions()).stream()
+                            .map(rendition -> rendition.getWidth() + "x" + rendition.getHeight())
+                            .collect(Collectors.toList())
+                    : List.of();
+
+            if (preview && originalVideoFile.getProxyS3Key() == null) {
+                log.warn("[processBatch] Vídeo {} ainda sem proxy; a pré-visualização lerá a origem em resolução cheia.",
+                        originalVideoFile.getId());
+            }
+            currentInputFilePath = videoSourceService.acquire(originalVideoFile, preview);
+            pinnedSource = originalVideoFile;
+            workspace = videoTempWorkspaceService.open(preview ? "preview" : "batch",
+                    originalVideoFile.getVideoFileSize(), currentInputFilePath);
 
-            
-            batchProcess.setProcessingSteps(request.getOperations().stream()
+            List<String> processingSteps = new ArrayList<>(operations.stream()
                     .map(VideoBatchRequest.BatchOperation::getOperationType).collect(Collectors.toList()));
-            batchProcess = videoBatchProcessRepository.save(batchProcess);
-
-            for (VideoBatchRequest.BatchOperation operation : request.getOperations()) {
-                log.info("🔹 [processBatch] Processando operação: {} | Input: {}", operation.getOperationType(),
-                        currentInputFilePath);
+            if (hlsOutput) {
+                processingSteps.add("HLS");
+            }
+            String expectedFormat = expectedOutputFormat(operations, originalVideoFile);
+            boolean streamOutput = request.streamOutputRequested() && !operations.isEmpty()
+                    && STREAMABLE_FORMATS.contains(expectedFormat);
+            if (request.streamOutputRequested() && !streamOutput) {
+                log.warn("[processBatch] Formato '{}' não suporta MP4 fragmentado em streaming; usando upload do arquivo final.",
+                        expectedFormat);
+            }
 
-                String nextOutputFilePath = videoOperationExecutor.execute(
-                        videoId,
-                        List.of(operation),
-                        currentInputFilePath,
-                        outputFormat);
+            boolean journaled = videoBatchJournalService.isEnabled() && !streamOutput && !preview
+                    && !operations.isEmpty();
+            batchProcess = resumedBatch != null
+                    ? resumedBatch
+                    : createBatchProcess(originalVideoFile, processingSteps,
+                            journaled ? videoBatchJournalService.serializeRequest(request) : null);
+            batchLease = videoBatchJournalService.holdLease(batchProcess.getId());
+            jobControl.attach(batchProcess.getId());
+
+            int firstStep = 0;
+            if (resumedBatch != null) {
+                Optional<VideoBatchJournalService.Checkpoint> checkpoint = videoBatchJournalService
+                        .restore(batchProcess.getId(), workspace);
+                if (checkpoint.isPresent()) {
+                    currentInputFilePath = checkpoint.get().filePath();
+                    firstStep = checkpoint.get().stepIndex() + 1;
+                }
+            }
 
-                if (nextOutputFilePath != null) {
-                    if (!new File(nextOutputFilePath).exists()) {
-                        log.error("[processBatch] Arquivo de saída não encontrado após operação: {}",
-                                nextOutputFilePath);
-                        throw new RuntimeException("Arquivo de saída não encontrado após operação.");
-                    }
+            String finalOutputFileName;
+            String processedFileUrl;
+            Path finalOutputPath;
+            Long processedFileSize = null;
+            VideoStreamingOutputService.StreamingUpload upload = streamOutput
+                    ? videoStreamingOutputService.open(workspace,
+                            buildFinalOutputFileName(originalVideoFile, "PROCESSED", expectedFormat),
+                            originalVideoFile.getId()).orElse(null)
+                    : null;
+            if (upload != null) {
+                finalOutputFileName = upload.getFileName();
+                finalOutputPath = Paths.get(upload.getPipePath());
+                try {
+                    // Retornar aqui significa que o FFmpeg saiu com código 0; qualquer outro caminho aborta o upload.
+                    executeOperations(videoId, operations, currentInputFilePath, originalVideoFile, workspace,
+                            upload.getPipePath(), false);
+                    jobControl.throwIfTerminated();
+                    videoBatchProducer.sendVideoBatchId(batchProcess.getId());
+                } catch (RuntimeException e) {
+                    videoStreamingOutputService.cancel(upload);
+                    throw e;
+                }
 
-                    if (currentInputFilePath.startsWith(TEMP_DIR)) {
-                        intermediateFiles.add(currentInputFilePath);
-                    }
+                processedFileUrl = videoStreamingOutputService.complete(upload);
+            } else {
+                currentInputFilePath = executeOperations(videoId, operations, firstStep, currentInputFilePath,
+                        originalVideoFile, workspace, null, preview,
+                        batchProcess.getRequestPayload() != null ? batchProcess : null);
+                jobControl.throwIfTerminated();
+                outputFormat = resolveOutputFormat(currentInputFilePath, originalVideoFile);
 
-                    currentInputFilePath = nextOutputFilePath;
+                finalOutputFileName = buildFinalOutputFileName(originalVideoFile, preview ? "PREVIEW" : "PROCESSED",
+                        outputFormat);
 
-                    int lastDot = nextOutputFilePath.lastIndexOf(".");
-                    if (lastDot > 0) {
-                        outputFormat = nextOutputFilePath.substring(lastDot + 1);
+                finalOutputPath = Paths.get(workspace.newFile(finalOutputFileName));
+                boolean producedOutput = workspace.contains(currentInputFilePath);
+                if (producedOutput) {
+                    try {
+                        VideoFileStorageUtils.moveFile(Paths.get(currentInputFilePath), finalOutputPath);
+                    } catch (IOException e) {
+                        log.error("Erro ao mover o arquivo final para o diretório temporário: {}", e.getMessage());
+                        throw new RuntimeException("Erro ao mover o arquivo final para o diretório temporário", e);
                     }
                 }
-            }
+                // Sem operações (escada HLS pura) empacota direto do original, local ou URL do S3, sem movê-lo.
+                String packagingInputPath = producedOutput ? finalOutputPath.toString() : currentInputFilePath;
 
-            String finalOutputFileName = VideoFileNameGenerator
-                    .generateFileNameWithSuffix(originalVideoFile.getVideoFileName(), "PROCESSED");
+                videoBatchProducer.sendVideoBatchId(batchProcess.getId());
 
-            int dotIndex = finalOutputFileName.lastIndexOf(".");
-            if (dotIndex != -1) {
-                finalOutputFileName = finalOutputFileName.substring(0, dotIndex) + "." + outputFormat;
-            }
-
-            Path finalOutputPath = Paths.get(TEMP_DIR, finalOutputFileName);
-            try {
-                VideoFileStorageUtils.moveFile(Paths.get(currentInputFilePath), finalOutputPath);
-            } catch (IOException e) {
-                log.error("Erro ao mover o arquivo final para o diretório temporário: {}", e.getMessage());
-                throw new RuntimeException("Erro ao mover o arquivo final para o diretório temporário", e);
+                if (producedOutput) {
+                    processedFileSize = finalOutputPath.toFile().length();
+                }
+                if (hlsOutput) {
+                    String packageName = finalOutputFileName.substring(0, finalOutputFileName.lastIndexOf('.'));
+                    videoDatabasePoolMetrics.recordExternalStep("HLS");
+                    processedFileUrl = videoHlsService.packageAndUpload(workspace, packagingInputPath, packageName,
+                            ladderResolutions, originalVideoFile.getId());
+                    finalOutputFileName = packageName + "/" + (hlsLadder
+                            ? VideoProcessorUtils.HLS_MASTER_PLAYLIST_NAME
+                            : VideoProcessorUtils.HLS_PLAYLIST_NAME);
+                } else {
+                    videoDatabasePoolMetrics.recordExternalStep("S3_UPLOAD");
+                    processedFileUrl = s3Service.uploadProcessedFile(finalOutputPath.toFile(), finalOutputFileName,
+                            originalVideoFile.getId());
+                }
             }
-
-            intermediateFiles.forEach(filePath -> VideoFileStorageUtils.deleteFileIfExists(new File(filePath)));
-
-            videoBatchProducer.sendVideoBatchId(batchProcess.getId());
-
-            String processedFileUrl = s3Service.uploadProcessedFile(finalOutputPath.toFile(), finalOutputFileName,
-                    originalVideoFile.getId());
             batchProcess.setS3Url(processedFileUrl);
             videoBatchProcessRepository.save(batchProcess);
 
-            videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
-                    VideoStatusEnum.COMPLETED, "processBatch - Conclusão");
+            auditScope.flush();
+            jobControl.finish();
+            if (resumedBatch == null) {
+                videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
+                        VideoStatusEnum.COMPLETED, "processBatch - Conclusão");
+            }
+            if (batchProcess.getRequestPayload() != null) {
+                videoBatchJournalService.discard(batchProcess.getId());
+            }
 
             videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
             videoBatchServiceMetrics.incrementBatchSuccess();
             videoBatchServiceMetrics.decrementProcessingQueueSize();
-            videoBatchServiceMetrics.setProcessedFileSize(finalOutputPath.toFile().length());
+            if (processedFileSize != null) {
+                videoBatchServiceMetrics.setProcessedFileSize(processedFileSize);
+            }
 
             log.info("[processBatch] Processamento concluído | Batch ID: {} | Arquivo final: {}",
                     batchProcess.getId(), finalOutputPath);
@@ -173,7 +271,7 @@ public class VideoBatchService {
         } catch (BatchValidationException e) {
             videoBatchServiceMetrics.incrementBatchFailure();
             videoBatchServiceMetrics.decrementProcessingQueueSize();
-            if (batchProcess != null) {
+            if (batchProcess != null && resumedBatch == null) {
                 videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
                         VideoStatusEnum.ERROR, "processBatch - Falha na validação");
             }
@@ -182,15 +280,396 @@ public class VideoBatchService {
         } catch (Exception e) {
             videoBatchServiceMetrics.incrementBatchFailure();
             videoBatchServiceMetrics.decrementProcessingQueueSize();
-            if (batchProcess != null) {
+            if (batchProcess != null && resumedBatch == null) {
                 videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
                         VideoStatusEnum.ERROR, "processBatch - Falha");
             }
             videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
+            jobControl.throwIfTerminated();
 
             throw e;
         } finally {
             //videoBatchServiceMetrics.decrementProcessingQueueSize();
+            if (batchLease != null) {
+                batchLease.close();
+            }
+            jobControl.close();
+            if (pinnedSource != null) {
+                videoSourceService.release(pinnedSource, preview);
+            }
+            videoTempWorkspaceService.close(workspace);
+            auditScope.close();
+            lookupScope.close();
+            drainJob.close();
+        }
+    }
+
+    public List<VideoBatchResponseDTO> processBatchRenditions(VideoBatchRequest request) throws IOException {
+        log.info("[processBatchRenditions] Iniciando processamento com múltiplas renderizações | Vídeos: {} | Operações: {} | Renderizações: {}",
+                request.getVideoIds(), request.getOperations(), request.getRenditions());
+
+        VideoDrainService.InFlightJob drainJob = videoDrainService.admit("batch");
+        VideoJobControlService.JobControl jobControl = videoJobControlService.open(request.getDeadlineSeconds());
+        videoBatchServiceMetrics.incrementBatchRequests();
+        videoBatchServiceMetrics.incrementProcessingQueueSize();
+
+        Timer.Sample timerSample = videoBatchServiceMetrics.startBatchProcessingTimer();
+
+        List<VideoProcessingBatch> batchProcesses = new ArrayList<>();
+        VideoBatchJournalService.BatchLease batchLease = videoBatchJournalService.openLease();
+        VideoFile pinnedSource = null;
+        VideoTempWorkspaceService.JobWorkspace workspace = null;
+        VideoFileFinderService.LookupScope lookupScope = videoFileFinderService.openScope();
+        VideoAuditWriterService.AuditScope auditScope = videoAuditWriterService.openScope();
+
+        try {
+            VideoFileStorageUtils.createDirectoryIfNotExists(TEMP_DIR);
+
+            String videoId = request.getVideoIds() != null && !request.getVideoIds().isEmpty()
+                    ? request.getVideoIds().get(0)
+                    : null;
+            VideoFile originalVideoFile = resolveOriginalVideoFile(request);
+
+            List<VideoBatchRequest.BatchOperation> operations = request.getOperations() != null
+                    ? request.getOperations()
+                    : List.of();
+            if (!operations.isEmpty()) {
+                videoOperationExecutor.validateAllOperations(videoId, operations);
+            }
+            List<VideoResizeRequest> renditionRequests = videoOperationExecutor.validateRenditions(videoId,
+                    request.getRenditions());
+
+            List<String> processingSteps = new ArrayList<>(operations.stream()
+                    .map(VideoBatchRequest.BatchOperation::getOperationType).collect(Collectors.toList()));
+            processingSteps.add("RESIZE");
+            for (int i = 0; i < renditionRequests.size(); i++) {
+                VideoProcessingBatch batchProcess = createBatchProcess(originalVideoFile, processingSteps);
+                batchProcesses.add(batchProcess);
+                batchLease.add(batchProcess.getId());
+                jobControl.attach(batchProcess.getId());
+            }
+
+            String currentInputFilePath = videoSourceService.acquire(originalVideoFile);
+            pinnedSource = originalVideoFile;
+            workspace = videoTempWorkspaceService.open("renditions", originalVideoFile.getVideoFileSize(),
+                    currentInputFilePath);
+            currentInputFilePath = executeOperations(videoId, operations, currentInputFilePath,
+                    originalVideoFile, workspace, null, false);
+            String outputFormat = resolveOutputFormat(currentInputFilePath, originalVideoFile);
+
+            videoDatabasePoolMetrics.recordExternalStep("RENDITIONS");
+            List<String> renditionOutputPaths = videoResizeService.resizeVideoToRenditions(videoId,
+                    renditionRequests, currentInputFilePath, workspace.getDirectory().toString());
+            jobControl.throwIfTerminated();
+            if (workspace.contains(currentInputFilePath)) {
+                VideoFileStorageUtils.deleteFileIfExists(new File(currentInputFilePath));
+            }
+            videoTempWorkspaceService.enforceQuota(workspace);
+            auditScope.flush();
+            jobControl.finish();
+
+            List<VideoBatchResponseDTO> responses = new ArrayList<>();
+            for (int i = 0; i < renditionOutputPaths.size(); i++) {
+                VideoResizeRequest rendition = renditionRequests.get(i);
+                VideoProcessingBatch batchProcess = batchProcesses.get(i);
+
+                String finalOutputFileName = buildFinalOutputFileName(originalVideoFile,
+                        "PROCESSED_" + rendition.getWidth() + "x" + rendition.getHeight(), outputFormat);
+                Path finalOutputPath = Paths.get(workspace.newFile(finalOutputFileName));
+                VideoFileStorageUtils.moveFile(Paths.get(renditionOutputPaths.get(i)), finalOutputPath);
+
+                videoBatchProducer.sendVideoBatchId(batchProcess.getId());
+
+                videoDatabasePoolMetrics.recordExternalStep("S3_UPLOAD");
+                String processedFileUrl = s3Service.uploadProcessedFile(finalOutputPath.toFile(), finalOutputFileName,
+                        originalVideoFile.getId());
+                batchProcess.setS3Url(processedFileUrl);
+                videoBatchProcessRepository.save(batchProcess);
+
+                videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
+                        VideoStatusEnum.COMPLETED, "processBatchRenditions - Conclusão");
+                videoBatchServiceMetrics.setProcessedFileSize(finalOutputPath.toFile().length());
+                VideoFileStorageUtils.deleteFileIfExists(finalOutputPath.toFile());
+
+                log.info("[processBatchRenditions] Renderização concluída | Batch ID: {} | Arquivo final: {}",
+                        batchProcess.getId(), finalOutputPath);
+
+                responses.add(new VideoBatchResponseDTO(batchProcess.getId(), finalOutputFileName,
+                        batchProcess.getCreatedTimes(), batchProcess.getProcessingSteps()));
+            }
+
+            videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
+            videoBatchServiceMetrics.incrementBatchSuccess();
+            videoBatchServiceMetrics.decrementProcessingQueueSize();
+
+            return responses;
+
+        } catch (Exception e) {
+            videoBatchServiceMetrics.incrementBatchFailure();
+            videoBatchServiceMetrics.decrementProcessingQueueSize();
+            batchProcesses.stream()
+                    .filter(batch -> batch.getS3Url() == null)
+                    .forEach(batch -> videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository,
+                            batch.getId(), VideoStatusEnum.ERROR, "processBatchRenditions - Falha"));
+            videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
+            jobControl.throwIfTerminated();
+            throw e;
+        } finally {
+            batchLease.close();
+            jobControl.close();
+            if (pinnedSource != null) {
+                videoSourceService.release(pinnedSource);
+            }
+            videoTempWorkspaceService.close(workspace);
+            auditScope.close();
+            lookupScope.close();
+            drainJob.close();
+        }
+    }
+
+    /**
+     * MULTI_CUT sem concatenação: extrai todos os intervalos numa única passada e registra um lote por clipe,
+     * como nas renderizações múltiplas.
+     */
+    public List<VideoBatchResponseDTO> processBatchClips(VideoBatchRequest request) throws IOException {
+        log.info("[processBatchClips] Iniciando extração de clipes | Vídeos: {} | Operações: {}",
+                request.getVideoIds(), request.getOperations());
+
+        VideoDrainService.InFlightJob drainJob = videoDrainService.admit("batch");
+        VideoJobControlService.JobControl jobControl = videoJobControlService.open(request.getDeadlineSeconds());
+        videoBatchServiceMetrics.incrementBatchRequests();
+        videoBatchServiceMetrics.incrementProcessingQueueSize();
+
+        Timer.Sample timerSample = videoBatchServiceMetrics.startBatchProcessingTimer();
+
+        List<VideoProcessingBatch> batchProcesses = new ArrayList<>();
+        VideoBatchJournalService.BatchLease batchLease = videoBatchJournalService.openLease();
+        VideoTempWorkspaceService.JobWorkspace workspace = null;
+        boolean preview = request.previewRequested();
+        VideoFileFinderService.LookupScope lookupScope = videoFileFinderService.openScope();
+        VideoAuditWriterService.AuditScope auditScope = videoAuditWriterService.openScope();
+
+        try {
+            VideoFile originalVideoFile = resolveOriginalVideoFile(request);
+            String videoId = request.getVideoIds().get(0);
+            List<VideoBatchRequest.BatchOperation> operations = request.getOperations();
+            videoOperationExecutor.validateAllOperations(videoId, operations);
+
+            List<VideoBatchRequest.CutRange> ranges = operations.get(0).getParameters().getRanges();
+            for (int i = 0; i < ranges.size(); i++) {
+                VideoProcessingBatch batchProcess = createBatchProcess(originalVideoFile, List.of("MULTI_CUT"));
+                batchProcesses.add(batchProcess);
+                batchLease.add(batchProcess.getId());
+                jobControl.attach(batchProcess.getId());
+            }
+
+            workspace = videoTempWorkspaceService.open(preview ? "preview-clips" : "clips",
+                    originalVideoFile.getVideoFileSize(), null);
+            String outputFormat = originalVideoFile.getVideoFileFormat().replace(".", "");
+            List<String> clipFileNames = new ArrayList<>();
+            List<String> clipOutputPaths = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                String clipFileName = buildFinalOutputFileName(originalVideoFile,
+                        (preview ? "PREVIEW_CLIP" : "PROCESSED_CLIP") + (i + 1), outputFormat);
+                clipFileNames.add(clipFileName);
+                clipOutputPaths.add(workspace.newFile(clipFileName));
+            }
+
+            videoDatabasePoolMetrics.recordExternalStep("MULTI_CUT");
+            videoCutService.cutVideoRanges(videoId, videoOperationExecutor.toCutRequests(videoId, ranges), false,
+                    clipOutputPaths, preview);
+            jobControl.throwIfTerminated();
+            videoTempWorkspaceService.enforceQuota(workspace);
+
+            auditScope.flush();
+            jobControl.finish();
+            List<VideoBatchResponseDTO> responses = new ArrayList<>();
+            for (int i = 0; i < clipOutputPaths.size(); i++) {
+                VideoProcessingBatch batchProcess = batchProcesses.get(i);
+                File clipFile = new File(clipOutputPaths.get(i));
+
+                videoBatchProducer.sendVideoBatchId(batchProcess.getId());
+
+                videoDatabasePoolMetrics.recordExternalStep("S3_UPLOAD");
+                String processedFileUrl = s3Service.uploadProcessedFile(clipFile, clipFileNames.get(i),
+                        originalVideoFile.getId());
+                batchProcess.setS3Url(processedFileUrl);
+                videoBatchProcessRepository.save(batchProcess);
+
+                videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository, batchProcess.getId(),
+                        VideoStatusEnum.COMPLETED, "processBatchClips - Conclusão");
+                videoBatchServiceMetrics.setProcessedFileSize(clipFile.length());
+                VideoFileStorageUtils.deleteFileIfExists(clipFile);
+
+                log.info("[processBatchClips] Clipe concluído | Batch ID: {} | Arquivo final: {}",
+                        batchProcess.getId(), clipFileNames.get(i));
+
+                responses.add(new VideoBatchResponseDTO(batchProcess.getId(), clipFileNames.get(i),
+                        batchProcess.getCreatedTimes(), batchProcess.getProcessingSteps()));
+            }
+
+            videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
+            videoBatchServiceMetrics.incrementBatchSuccess();
+            videoBatchServiceMetrics.decrementProcessingQueueSize();
+
+            return responses;
+
+        } catch (Exception e) {
+            videoBatchServiceMetrics.incrementBatchFailure();
+            videoBatchServiceMetrics.decrementProcessingQueueSize();
+            batchProcesses.stream()
+                    .filter(batch -> batch.getS3Url() == null)
+                    .forEach(batch -> videoStatusManagerService.updateEntityStatus(videoBatchProcessRepository,
+                            batch.getId(), VideoStatusEnum.ERROR, "processBatchClips - Falha"));
+            videoBatchServiceMetrics.recordBatchProcessingDuration(timerSample);
+            jobControl.throwIfTerminated();
+            throw e;
+        } finally {
+            batchLease.close();
+            jobControl.close();
+            videoTempWorkspaceService.close(workspace);
+            auditScope.close();
+            lookupScope.close();
+            drainJob.close();
+        }
+    }
+
+    private VideoFile resolveOriginalVideoFile(VideoBatchRequest request) {
+        if (request.getVideoIds() == null || request.getVideoIds().isEmpty() || request.getVideoIds().get(0) == null) {
+            throw new BatchValidationException(List.of("Nenhum ID de vídeo fornecido."));
+        }
+        String videoId = request.getVideoIds().get(0);
+        VideoFile originalVideoFile = videoFileFinderService.findById(videoId);
+        if (originalVideoFile == null) {
+            throw new BatchValidationException(List.of(
+                    "Operation error 'BATCH': Nenhum arquivo de vídeo encontrado correspondente ao ID: '" + videoId + "'"
+            ));
+        }
+        return originalVideoFile;
+    }
+
+    private VideoProcessingBatch createBatchProcess(VideoFile originalVideoFile, List<String> processingSteps) {
+        return createBatchProcess(originalVideoFile, processingSteps, null);
+    }
+
+    /**
+     * Cria o lote já arrendado a este nó; com {@code requestPayload} o lote passa a ter diário de etapas.
+     */
+    private VideoProcessingBatch createBatchProcess(VideoFile originalVideoFile, List<String> processingSteps,
+            String requestPayload) {
+        VideoProcessingBatch batchProcess = new VideoProcessingBatch();
+        batchProcess.setRequestPayload(requestPayload);
+        batchProcess.setNextAttemptAt(videoBatchJournalService.leaseExpiry());
+        batchProcess.setVideoFile(originalVideoFile);
+        batchProcess.setStatus(VideoStatusEnum.PROCESSING);
+        batchProcess.setCreatedTimes(ZonedDateTime.now());
+        batchProcess.setUpdatedTimes(ZonedDateTime.now());
+        batchProcess.setS3Url(null);
+        batchProcess.setUserAccount(originalVideoFile.getUserAccount());
+        batchProcess.setProcessingSteps(processingSteps);
+        return videoBatchProcessRepository.save(batchProcess);
+    }
+
+    private String executeOperations(String videoId, List<VideoBatchRequest.BatchOperation> operations,
+            String currentInputFilePath, VideoFile originalVideoFile,
+            VideoTempWorkspaceService.JobWorkspace workspace, String finalOutputFilePath, boolean preview) {
+        return executeOperations(videoId, operations, 0, currentInputFilePath, originalVideoFile, workspace,
+                finalOutputFilePath, preview, null);
+    }
+
+    /**
+     * Executa as operações em sequência, a partir de {@code firstStep}, gravando cada saída no workspace do job.
+     * O intermediário consumido é apagado assim que a operação seguinte termina, para que o job nunca ocupe mais
+     * que dois arquivos. Com {@code journalBatch}, cada saída é registrada no diário antes de seguir.
+     */
+    private String executeOperations(String videoId, List<VideoBatchRequest.BatchOperation> operations,
+            int firstStep, String currentInputFilePath, VideoFile originalVideoFile,
+            VideoTempWorkspaceService.JobWorkspace workspace, String finalOutputFilePath, boolean preview,
+            VideoProcessingBatch journalBatch) {
+        for (int index = firstStep; index < operations.size(); index++) {
+            VideoBatchRequest.BatchOperation operation = operations.get(index);
+            log.info("🔹 [processBatch] Processando operação: {} | Input: {}", operation.getOperationType(),
+                    currentInputFilePath);
+
+            String outputTarget = index == operations.size() - 1 && finalOutputFilePath != null
+                    ? finalOutputFilePath
+                    : workspace.newFile(String.format("%02d_%s.%s", index,
+                            operation.getOperationType().toLowerCase(),
+                            resolveOutputFormat(currentInputFilePath, originalVideoFile)));
+
+            videoDatabasePoolMetrics.recordExternalStep(operation.getOperationType().toUpperCase());
+            String nextOutputFilePath = videoOperationExecutor.execute(
+                    videoId,
+                    List.of(operation),
+                    currentInputFilePath,
+                    null,
+                    outputTarget,
+                    preview);
+
+            if (nextOutputFilePath != null) {
+                if (!new File(nextOutputFilePath).exists()) {
+                    log.error("[processBatch] Arquivo de saída não encontrado após operação: {}",
+                            nextOutputFilePath);
+                    throw new RuntimeException("Arquivo de saída não encontrado após operação.");
+                }
+
+                if (workspace.contains(currentInputFilePath)) {
+                    VideoFileStorageUtils.deleteFileIfExists(new File(currentInputFilePath));
+                }
+
+                currentInputFilePath = nextOutputFilePath;
+                videoTempWorkspaceService.enforceQuota(workspace);
+
+                if (journalBatch != null) {
+                    try {
+                        videoBatchJournalService.recordStep(journalBatch, index, operation.getOperationType(),
+                                currentInputFilePath);
+                    } catch (IOException | RuntimeException e) {
+                        // O diário é uma otimização da retomada; sem o registro, ela recomeça de uma etapa anterior.
+                        log.warn("[processBatch] Etapa {} do lote {} não registrada no diário: {}", index,
+                                journalBatch.getId(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return currentInputFilePath;
+    }
+
+    private String expectedOutputFormat(List<VideoBatchRequest.BatchOperation> operations,
+            VideoFile originalVideoFile) {
+        String format = originalVideoFile.getVideoFileFormat().replace(".", "");
+        for (VideoBatchRequest.BatchOperation operation : operations) {
+            if ("CONVERT".equalsIgnoreCase(operation.getOperationType())
+                    && operation.getParameters().getOutputFormat() != null) {
+                format = operation.getParameters().getOutputFormat();
+            }
+        }
+        return format.toLowerCase();
+    }
+
+    /**
+     * Formato do arquivo corrente. Enquanto nenhuma operação gerou saída, vale o formato do original enviado,
+     * inclusive quando o job lê a mezzanine normalizada.
+     */
+    private String resolveOutputFormat(String currentFilePath, VideoFile originalVideoFile) {
+        if (!VideoFileStorageUtils.isRemotePath(currentFilePath)
+                && !videoSourceService.isMezzanine(originalVideoFile, currentFilePath)) {
+            int lastDot = currentFilePath.lastIndexOf(".");
+            if (lastDot > 0) {
+                return currentFilePath.substring(lastDot + 1);
+            }
+        }
+        return originalVideoFile.getVideoFileFormat().replace(".", "");
+    }
+
+    private String buildFinalOutputFileName(VideoFile originalVideoFile, String suffix, String outputFormat) {
+        String finalOutputFileName = VideoFileNameGenerator
+                .generateFileNameWithSuffix(originalVideoFile.getVideoFileName(), suffix);
+
+        int dotIndex = finalOutputFileName.lastIndexOf(".");
+        if (dotIndex != -1) {
+            finalOutputFileName = finalOutputFileName.substring(0, dotIndex) + "." + outputFormat;
         }
+        return finalOutputFileName;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -17,8 +17,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.time.ZonedDateTime;
@@ -34,14 +32,24 @@ public class VideoConversionService {
     private final VideoConversionRepository videoConversionRepository;
     private final VideoConversionProducer videoConversionProducer;
     private final VideoConversionMetrics videoConversionServiceMetrics;
-    private final VideoStatusService videoStatusManagerService;
+    private final VideoAuditWriterService videoAuditWriterService;
     private final VideoConversionValidation videoConversionValidator;
+    private final VideoSourceService videoSourceService;
 
     @Value("${video.temp.dir}")
     private String TEMP_DIR;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public String convertVideo(VideoConversionRequest request, String previousFilePath) {
+        return convertVideo(request, previousFilePath, null);
+    }
+
+    public String convertVideo(VideoConversionRequest request, String previousFilePath,
+            String outputFilePathOverride) {
+        return convertVideo(request, previousFilePath, outputFilePathOverride, false);
+    }
+
+    public String convertVideo(VideoConversionRequest request, String previousFilePath,
+            String outputFilePathOverride, boolean preview) {
         videoConversionServiceMetrics.incrementConversionRequests();
         videoConversionServiceMetrics.incrementProcessingQueueSize();
         Timer.Sample timer = videoConversionServiceMetrics.startConversionTimer();
@@ -56,7 +64,9 @@ public class VideoConversionService {
                 videoId, outputFormat, previousFilePath);
 
         VideoFile videoFile = videoFileFinderService.findById(videoId);
-        String inputFilePath = VideoFileStorageUtils.resolveInputFilePath(previousFilePath, videoFile.getVideoFilePath());
+        String inputFilePath = previousFilePath != null && !previousFilePath.isEmpty()
+                ? previousFilePath
+                : videoSourceService.resolveSourcePath(videoFile, preview);
 
         try {
             VideoFileStorageUtils.validateInputFileExists(inputFilePath, () -> {
@@ -77,10 +87,17 @@ public class VideoConversionService {
         int lastDotIndex = baseOutputFileNameWithSuffix.lastIndexOf('.');
         String baseOutputFileNameWithoutExtension = (lastDotIndex == -1) ? baseOutputFileNameWithSuffix : baseOutputFileNameWithSuffix.substring(0, lastDotIndex);
         String outputFilePathWithoutExtension = Paths.get(TEMP_DIR, baseOutputFileNameWithoutExtension).toString();
+        if (outputFilePathOverride != null) {
+            int overrideDotIndex = outputFilePathOverride.lastIndexOf('.');
+            outputFilePathWithoutExtension = overrideDotIndex == -1
+                    ? outputFilePathOverride
+                    : outputFilePathOverride.substring(0, overrideDotIndex);
+        }
 
         log.info("Processando conversão: {} → {} (Formato: {})", inputFilePath, outputFilePathWithoutExtension, outputFormat);
 
-        boolean success = VideoProcessorUtils.convertVideo(inputFilePath, outputFilePathWithoutExtension, outputFormat);
+        boolean success = VideoProcessorUtils.convertVideo(inputFilePath, outputFilePathWithoutExtension, outputFormat,
+                preview);
         if (!success) {
             handleConversionFailure(outputFormat);
         }
@@ -89,7 +106,7 @@ public class VideoConversionService {
         postConversionSuccess(timer, finalOutputFilePath);
 
         VideoConversion videoConversion = createAndSaveVideoConversion(videoFile, outputFormat);
-        videoStatusManagerService.updateEntityStatus(videoConversionRepository, videoConversion.getId(),
+        videoAuditWriterService.updateStatus(videoConversionRepository, videoConversion,
                 VideoStatusEnum.COMPLETED, "Conversão concluída com sucesso.");
 
         log.info("Conversão do vídeo {} para o formato {} concluída. Arquivo de saída: {}",
@@ -123,12 +140,13 @@ public class VideoConversionService {
         videoConversion.setUpdatedTimes(ZonedDateTime.now());
         videoConversion.setStatus(VideoStatusEnum.PROCESSING);
 
-        videoConversion = videoConversionRepository.save(videoConversion);
-        videoConversionProducer.sendVideoConversionMessage(videoConversion.getId().toString());
+        videoConversion = videoAuditWriterService.record(videoConversionRepository, videoConversion);
+        String conversionId = videoConversion.getId().toString();
+        videoAuditWriterService.publish(() -> videoConversionProducer.sendVideoConversionMessage(conversionId));
         return videoConversion;
     }
 
     public void deleteTemporaryFiles(String filePath) {
         VideoFileStorageUtils.deleteFileIfExists(new File(filePath));
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
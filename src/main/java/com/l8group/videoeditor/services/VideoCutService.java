@@ -11,6 +11,7 @@ import com.l8group.videoeditor.models.VideoFile;
 import com.l8group.videoeditor.rabbit.producer.VideoCutProducer;
 import com.l8group.videoeditor.repositories.VideoCutRepository;
 import com.l8group.videoeditor.requests.VideoCutRequest;
+import com.l8group.videoeditor.utils.VideoAudioUtils;
 import com.l8group.videoeditor.utils.VideoFileStorageUtils;
 import com.l8group.videoeditor.utils.VideoDurationUtils;
 import com.l8group.videoeditor.utils.VideoFileNameGenerator;
@@ -22,12 +23,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -37,14 +38,12 @@ public class VideoCutService {
     @Value("${video.temp.dir}")
     private String TEMP_DIR;
 
-    @Value("${video.upload.dir}")
-    private String uploadDir;
-
     private final VideoCutRepository videoCutRepository;
     private final VideoCutProducer videoCutProducer;
     private final VideoCutMetrics videoCutServiceMetrics;
-    private final VideoStatusService videoStatusManagerService;
+    private final VideoAuditWriterService videoAuditWriterService;
     private final VideoFileFinderService videoFileFinderService;
+    private final VideoSourceService videoSourceService;
 
     public void validateCutTimes(VideoCutRequest request, VideoFile videoFile) {
         int startTime = VideoDurationUtils.convertTimeToSeconds(request.getStartTime());
@@ -56,25 +55,33 @@ public class VideoCutService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public String cutVideo(VideoCutRequest request, String previousFilePath) {
+        return cutVideo(request, previousFilePath, null);
+    }
+
+    public String cutVideo(VideoCutRequest request, String previousFilePath, String outputFilePathOverride) {
+        return cutVideo(request, previousFilePath, outputFilePathOverride, false);
+    }
+
+    public String cutVideo(VideoCutRequest request, String previousFilePath, String outputFilePathOverride,
+            boolean preview) {
         log.info("Iniciando corte do vídeo. videoId={}, startTime={}, endTime={}, previousFilePath={}",
                 request.getVideoId(), request.getStartTime(), request.getEndTime(), previousFilePath);
 
         videoCutServiceMetrics.incrementCutRequests();
         VideoFile videoFile = videoFileFinderService.findById(request.getVideoId());
-        String inputFilePath = VideoFileStorageUtils.buildFilePath(uploadDir, videoFile.getVideoFileName());
-        if (!new File(inputFilePath).exists())
-            throw new VideoProcessingException("Arquivo de vídeo não encontrado.");
+        String inputFilePath = videoSourceService.resolveSourcePath(videoFile, preview);
 
-        String videoDuration;
-        try {
-            videoDuration = VideoDurationUtils.getVideoDurationAsString(inputFilePath);
-            log.info("Duração total do vídeo: {}", videoDuration);
-        } catch (IOException e) {
-            log.error("Erro ao obter duração do vídeo: {}", e.getMessage(), e);
-            throw new VideoMetadataException("Erro ao obter duração do vídeo.");
+        String videoDuration = videoFile.getVideoDuration();
+        if (videoDuration == null) {
+            try {
+                videoDuration = VideoDurationUtils.getVideoDurationAsString(inputFilePath);
+            } catch (IOException e) {
+                log.error("Erro ao obter duração do vídeo: {}", e.getMessage(), e);
+                throw new VideoMetadataException("Erro ao obter duração do vídeo.");
+            }
         }
+        log.info("Duração total do vídeo: {}", videoDuration);
 
         int startTime = VideoDurationUtils.convertTimeToSeconds(request.getStartTime());
         int endTime = VideoDurationUtils.convertTimeToSeconds(request.getEndTime());
@@ -87,9 +94,10 @@ public class VideoCutService {
         }
 
         VideoFileStorageUtils.createDirectoryIfNotExists(TEMP_DIR);
-        String outputFilePath = Paths
-                .get(TEMP_DIR, VideoFileNameGenerator.generateFileNameWithSuffix(videoFile.getVideoFileName(), "cut"))
-                .toString();
+        String outputFilePath = outputFilePathOverride != null
+                ? outputFilePathOverride
+                : Paths.get(TEMP_DIR, VideoFileNameGenerator.generateFileNameWithSuffix(videoFile.getVideoFileName(), "cut"))
+                        .toString();
 
         videoCutServiceMetrics.incrementProcessingQueueSize();
         Timer.Sample timer = videoCutServiceMetrics.startCutTimer();
@@ -97,22 +105,27 @@ public class VideoCutService {
         VideoCut videoCutEntity = saveCutEntity(videoFile, request);
         boolean success = false;
         try {
-            success = VideoProcessorUtils.cutVideo(inputFilePath, outputFilePath, request.getStartTime(),
-                    request.getEndTime());
+            if (canStreamCopy(videoFile, inputFilePath, outputFilePath)) {
+                success = VideoProcessorUtils.cutVideoStreamCopy(inputFilePath, outputFilePath,
+                        request.getStartTime(), request.getEndTime());
+            } else {
+                success = VideoProcessorUtils.cutVideo(inputFilePath, outputFilePath, request.getStartTime(),
+                        request.getEndTime(), preview);
+            }
             videoCutServiceMetrics.recordCutDuration(timer);
             videoCutServiceMetrics.decrementProcessingQueueSize();
 
             if (!success) {
                 videoCutServiceMetrics.incrementCutFailures();
-                videoStatusManagerService.updateEntityStatus(
-                        videoCutRepository, videoCutEntity.getId(), VideoStatusEnum.ERROR,
+                videoAuditWriterService.updateStatus(
+                        videoCutRepository, videoCutEntity, VideoStatusEnum.ERROR,
                         "CutService - Falha no Processamento");
                 throw new VideoProcessingException("Falha ao processar o corte do vídeo.");
             }
 
             videoCutServiceMetrics.incrementCutSuccess();
-            videoStatusManagerService.updateEntityStatus(
-                    videoCutRepository, videoCutEntity.getId(), VideoStatusEnum.COMPLETED, "CutService - Conclusão");
+            videoAuditWriterService.updateStatus(
+                    videoCutRepository, videoCutEntity, VideoStatusEnum.COMPLETED, "CutService - Conclusão");
 
         } catch (VideoProcessingException e) {
             throw e;
@@ -120,16 +133,114 @@ public class VideoCutService {
             videoCutServiceMetrics.recordCutDuration(timer);
             videoCutServiceMetrics.decrementProcessingQueueSize();
             videoCutServiceMetrics.incrementCutFailures();
-            videoStatusManagerService.updateEntityStatus(
-                    videoCutRepository, videoCutEntity.getId(), VideoStatusEnum.ERROR, "CutService - Erro Inesperado");
+            videoAuditWriterService.updateStatus(
+                    videoCutRepository, videoCutEntity, VideoStatusEnum.ERROR, "CutService - Erro Inesperado");
             throw new VideoProcessingException("Erro inesperado ao cortar o vídeo.", e);
         }
 
-        videoCutProducer.sendVideoCutId(videoCutEntity.getId());
+        videoAuditWriterService.publish(() -> videoCutProducer.sendVideoCutId(videoCutEntity.getId()));
 
         return outputFilePath;
     }
 
+    /**
+     * Extrai vários intervalos do vídeo numa única decodificação. Com {@code concatenate} gera um único arquivo
+     * com os trechos na ordem pedida; sem ele, um arquivo por intervalo, na mesma ordem.
+     *
+     * @param outputFilePaths destinos das saídas; quando nulo, os arquivos são gerados em video.temp.dir
+     */
+    public List<String> cutVideoRanges(String videoId, List<VideoCutRequest> ranges, boolean concatenate,
+            List<String> outputFilePaths, boolean preview) {
+        log.info("Iniciando corte de múltiplos intervalos. videoId={}, intervalos={}, concatenar={}",
+                videoId, ranges.size(), concatenate);
+
+        videoCutServiceMetrics.incrementCutRequests();
+        VideoFile videoFile = videoFileFinderService.findById(videoId);
+        String inputFilePath = videoSourceService.resolveSourcePath(videoFile, preview);
+
+        boolean hasAudio;
+        try {
+            hasAudio = VideoAudioUtils.hasAudioTrack(inputFilePath);
+        } catch (IOException e) {
+            log.error("Erro ao verificar a trilha de áudio do vídeo: {}", e.getMessage(), e);
+            throw new VideoMetadataException("Erro ao verificar a trilha de áudio do vídeo.", e);
+        }
+
+        List<int[]> rangesSeconds = new ArrayList<>();
+        for (VideoCutRequest range : ranges) {
+            rangesSeconds.add(new int[] { VideoDurationUtils.convertTimeToSeconds(range.getStartTime()),
+                    VideoDurationUtils.convertTimeToSeconds(range.getEndTime()) });
+        }
+        if (hasAudio) {
+            try {
+                VideoAudioValidation.validateAudioRanges(inputFilePath, rangesSeconds);
+            } catch (InvalidMediaPropertiesException e) {
+                log.error("Problema nas propriedades de áudio do vídeo: {}", e.getMessage());
+                throw e;
+            }
+        } else {
+            log.info("Vídeo {} sem trilha de áudio; os intervalos serão cortados só com vídeo.", videoId);
+        }
+
+        List<String> outputs = outputFilePaths;
+        if (outputs == null) {
+            VideoFileStorageUtils.createDirectoryIfNotExists(TEMP_DIR);
+            outputs = new ArrayList<>();
+            int outputCount = concatenate ? 1 : ranges.size();
+            for (int i = 0; i < outputCount; i++) {
+                String suffix = concatenate ? "multicut" : "clip" + (i + 1);
+                outputs.add(Paths.get(TEMP_DIR,
+                        VideoFileNameGenerator.generateFileNameWithSuffix(videoFile.getVideoFileName(), suffix))
+                        .toString());
+            }
+        }
+
+        videoCutServiceMetrics.incrementProcessingQueueSize();
+        Timer.Sample timer = videoCutServiceMetrics.startCutTimer();
+
+        List<VideoCut> cutEntities = new ArrayList<>();
+        for (VideoCutRequest range : ranges) {
+            cutEntities.add(saveCutEntity(videoFile, range));
+        }
+
+        boolean success;
+        try {
+            success = VideoProcessorUtils.cutVideoRanges(inputFilePath, outputs, rangesSeconds, concatenate,
+                    hasAudio, preview);
+        } catch (Exception e) {
+            success = false;
+            log.error("Erro inesperado ao cortar múltiplos intervalos: {}", e.getMessage(), e);
+        }
+        videoCutServiceMetrics.recordCutDuration(timer);
+        videoCutServiceMetrics.decrementProcessingQueueSize();
+
+        VideoStatusEnum status = success ? VideoStatusEnum.COMPLETED : VideoStatusEnum.ERROR;
+        for (VideoCut cutEntity : cutEntities) {
+            videoAuditWriterService.updateStatus(videoCutRepository, cutEntity, status,
+                    success ? "CutService - Conclusão" : "CutService - Falha no Processamento");
+        }
+        if (!success) {
+            videoCutServiceMetrics.incrementCutFailures();
+            throw new VideoProcessingException("Falha ao processar o corte dos intervalos do vídeo.");
+        }
+
+        videoCutServiceMetrics.incrementCutSuccess();
+        for (VideoCut cutEntity : cutEntities) {
+            videoAuditWriterService.publish(() -> videoCutProducer.sendVideoCutId(cutEntity.getId()));
+        }
+        return outputs;
+    }
+
+    /**
+     * A mezzanine tem quadro-chave a cada segundo inteiro e os tempos de corte são em segundos inteiros, então o
+     * corte pode copiar os streams, desde que a saída seja um contêiner que aceite H.264/AAC sem re-encode.
+     */
+    private boolean canStreamCopy(VideoFile videoFile, String inputFilePath, String outputFilePath) {
+        String extension = outputFilePath.substring(outputFilePath.lastIndexOf('.') + 1).toLowerCase();
+        return videoSourceService.isMezzanine(videoFile, inputFilePath)
+                && (extension.equals("mp4") || extension.equals("mov"));
+    }
+
     private VideoCut saveCutEntity(VideoFile videoFile, VideoCutRequest request) {
         log.debug("Persistindo entidade de corte de vídeo para o vídeo com ID: {}", videoFile.getId());
         String cutDurationFormatted = VideoDurationUtils.calculateDurationBetween(
@@ -142,10 +253,10 @@ public class VideoCutService {
         videoCut.setCreatedTimes(ZonedDateTime.now());
         videoCut.setUpdatedTimes(ZonedDateTime.now());
         videoCut.setStatus(VideoStatusEnum.PROCESSING);
-        return videoCutRepository.save(videoCut);
+        return videoAuditWriterService.record(videoCutRepository, videoCut);
     }
 
     public void deleteTemporaryFiles(String filePath) {
         VideoFileStorageUtils.deleteFileIfExists(new File(filePath));
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
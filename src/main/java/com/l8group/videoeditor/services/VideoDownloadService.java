@@ -7,6 +7,7 @@ import com.l8group.videoeditor.models.VideoDownload;
 import com.l8group.videoeditor.models.VideoProcessingBatch;
 import com.l8group.videoeditor.rabbit.producer.VideoDownloadProducer;
 import com.l8group.videoeditor.repositories.VideoDownloadRepository;
+import com.l8group.videoeditor.s3.S3SignedUrlService;
 import com.l8group.videoeditor.validation.VideoDownloadValidation;
 
 import org.slf4j.Logger;
@@ -18,32 +19,43 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import io.micrometer.core.instrument.Timer;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class VideoDownloadService {
 
     private static final Logger logger = LoggerFactory.getLogger(VideoDownloadService.class);
 
+    public static final String HLS_VARIANT_PATH = "/api/videos/download/%s/hls/%s";
+
+    private static final Pattern HLS_MAP_URI_PATTERN = Pattern.compile("URI=\"([^\"]+)\"");
+    private static final Pattern HLS_VARIANT_PATTERN = Pattern.compile("^stream_\\d+$");
+
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
-    private final S3Client s3Client;
+    @Value("${aws.s3.signed-url.expiration-minutes}")
+    private long signedUrlExpirationMinutes;
+
+    private final VideoS3Service videoS3Service;
     private final VideoBatchFinderService videoProcessingBatchFinderService;
     private final VideoDownloadValidation requestValidator;
     private final VideoDownloadMetrics videoDownloadMetrics;
     private final VideoDownloadRepository videoDownloadRepository;
     private final VideoDownloadProducer videoDownloadProducer;
     private final VideoStatusService videoStatusManagerService;
+    private final S3SignedUrlService s3SignedUrlService;
 
     public VideoDownloadService(
             VideoBatchFinderService finderService,
@@ -51,7 +63,9 @@ public class VideoDownloadService {
             VideoDownloadMetrics videoDownloadMetrics,
             VideoDownloadRepository videoDownloadRepository,
             VideoDownloadProducer videoDownloadProducer,
-            VideoStatusService videoStatusManagerService) {
+            VideoStatusService videoStatusManagerService,
+            S3SignedUrlService s3SignedUrlService,
+            VideoS3Service videoS3Service) {
 
         this.videoProcessingBatchFinderService = finderService;
         this.requestValidator = requestValidator;
@@ -59,13 +73,10 @@ public class VideoDownloadService {
         this.videoDownloadRepository = videoDownloadRepository;
         this.videoDownloadProducer = videoDownloadProducer;
         this.videoStatusManagerService = videoStatusManagerService;
+        this.s3SignedUrlService = s3SignedUrlService;
+        // Mesmo cliente do VideoS3Service: leituras respeitam aws.s3.endpoint, como os uploads.
+        this.videoS3Service = videoS3Service;
 
-        this.s3Client = S3Client.builder()
-                .region(Region.US_EAST_1)
-                .credentialsProvider(ProfileCredentialsProvider.create("editor-video-s3"))
-                .build();
-
-        logger.info("S3 Client configurado para a região: {}", Region.US_EAST_1.id());
         logger.info("VideoDownloadService inicializado.");
     }
 
@@ -90,12 +101,21 @@ public class VideoDownloadService {
             String downloadFileName = key.substring(key.lastIndexOf('/') + 1);
             logger.info("Nome do arquivo: {}", downloadFileName);
 
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
+            if (downloadFileName.endsWith(".m3u8")) {
+                byte[] playlist = rewritePlaylist(batch.getId().toString(), key);
+
+                videoDownloadMetrics.incrementSuccessfulDownloads();
+                videoDownloadMetrics.recordDownloadDuration(timer);
+                videoDownloadMetrics.addDownloadedFileSize(playlist.length);
+
+                savedDownload = saveDownloadRecord(batch, downloadFileName);
+                if (savedDownload != null) {
+                    videoStatusManagerService.updateEntityStatus(videoDownloadRepository, savedDownload.getId(), VideoStatusEnum.COMPLETED, "VideoDownloadService");
+                }
+                return playlistResponse(playlist, downloadFileName);
+            }
 
-            ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request);
+            ResponseInputStream<GetObjectResponse> response = videoS3Service.openObject(key);
             long contentLength = response.response().contentLength();
             InputStreamResource resource = new InputStreamResource(response);
 
@@ -143,6 +163,70 @@ public class VideoDownloadService {
     }
 
 
+    public ResponseEntity<InputStreamResource> downloadHlsVariantPlaylist(String rawBatchProcessId, String variant,
+            String playlistName) {
+        logger.info("Requisição de playlist HLS variante {} para batchProcessId: {}", variant, rawBatchProcessId);
+        requestValidator.validateRawBatchProcessId(rawBatchProcessId);
+        if (!HLS_VARIANT_PATTERN.matcher(variant).matches() || !"playlist.m3u8".equals(playlistName)) {
+            throw new ProcessedFileNotFoundException("Playlist HLS inexistente: " + variant + "/" + playlistName);
+        }
+
+        VideoProcessingBatch batch = videoProcessingBatchFinderService.findById(rawBatchProcessId);
+        requestValidator.validateVideoProcessingBatch(batch);
+
+        String masterKey = extractS3Key(batch.getS3Url());
+        if (!masterKey.endsWith(".m3u8")) {
+            throw new ProcessedFileNotFoundException("O processamento informado não possui saída HLS.");
+        }
+        String variantKey = masterKey.substring(0, masterKey.lastIndexOf('/') + 1) + variant + "/" + playlistName;
+
+        byte[] playlist = rewritePlaylist(batch.getId().toString(), variantKey);
+        videoDownloadMetrics.addDownloadedFileSize(playlist.length);
+        return playlistResponse(playlist, playlistName);
+    }
+
+    /**
+     * Reescreve as URIs da playlist: segmentos e init apontam para URLs assinadas do S3 e playlists
+     * variantes voltam para este endpoint, pois o bucket é privado.
+     */
+    private byte[] rewritePlaylist(String batchId, String playlistKey) {
+        String folder = playlistKey.substring(0, playlistKey.lastIndexOf('/') + 1);
+        String original = new String(videoS3Service.readObject(playlistKey), StandardCharsets.UTF_8);
+
+        StringBuilder rewritten = new StringBuilder();
+        for (String line : original.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("#EXT-X-MAP:")) {
+                Matcher matcher = HLS_MAP_URI_PATTERN.matcher(trimmed);
+                rewritten.append(matcher.find()
+                        ? trimmed.replace(matcher.group(1), signedUrl(folder + matcher.group(1)))
+                        : trimmed);
+            } else if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                rewritten.append(trimmed);
+            } else if (trimmed.endsWith(".m3u8")) {
+                rewritten.append(String.format(HLS_VARIANT_PATH, batchId, trimmed));
+            } else {
+                rewritten.append(signedUrl(folder + trimmed));
+            }
+            rewritten.append('\n');
+        }
+        return rewritten.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String signedUrl(String key) {
+        return s3SignedUrlService.generateSignedUrl(bucketName, key, Duration.ofMinutes(signedUrlExpirationMinutes));
+    }
+
+    private ResponseEntity<InputStreamResource> playlistResponse(byte[] playlist, String fileName) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+        headers.add(HttpHeaders.CONTENT_TYPE, detectMimeType(fileName));
+        headers.add(HttpHeaders.CACHE_CONTROL, "private, max-age=60");
+        headers.setContentLength(playlist.length);
+        return new ResponseEntity<>(new InputStreamResource(new ByteArrayInputStream(playlist)), headers,
+                HttpStatus.OK);
+    }
+
     private String extractS3Key(String filePath) {
         try {
             if (filePath == null || filePath.isBlank()) {
@@ -214,6 +298,7 @@ public class VideoDownloadService {
         if (filename.endsWith(".mp4")) return "video/mp4";
         if (filename.endsWith(".avi")) return "video/avi";
         if (filename.endsWith(".mov")) return "video/quicktime";
+        if (filename.endsWith(".m3u8")) return "application/vnd.apple.mpegurl";
         return "application/octet-stream";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
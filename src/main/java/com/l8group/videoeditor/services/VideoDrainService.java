@@ -0,0 +1,183 @@
+package com.l8group.videoeditor.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.ServiceDrainingException;
+import com.l8group.videoeditor.utils.VideoFFmpegProcessRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drain da instância no desligamento (SIGTERM, scale-in). É o primeiro componente a parar: sai do readiness,
+ * para de consumir as filas e recusa novos lotes HTTP com 503, depois espera os jobs em andamento até o prazo.
+ * Vencido o prazo, encerra os encodes restantes; os jobs interrompidos falham pelo caminho normal (ERROR e
+ * retentativa) e as mensagens ainda não confirmadas voltam para a fila. O estado fica em /actuator/drain.
+ */
+@Slf4j
+@Service
+public class VideoDrainService implements SmartLifecycle {
+
+    public enum State {
+        RUNNING, DRAINING, DRAINED
+    }
+
+    public record Status(State state, Instant drainStartedAt, Instant deadline, Map<String, Long> inFlightJobs,
+            List<VideoFFmpegProcessRegistry.RunningEncode> runningEncodes, int abortedEncodes) {
+    }
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration timeout;
+    private final Duration abortGrace;
+
+    private final Set<InFlightJob> inFlightJobs = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private volatile State state = State.RUNNING;
+    private volatile Instant drainStartedAt;
+    private volatile Instant deadline;
+    private volatile int abortedEncodes;
+
+    public VideoDrainService(RabbitListenerEndpointRegistry listenerRegistry, ApplicationEventPublisher eventPublisher,
+            @Value("${video.drain.timeout-seconds:300}") long timeoutSeconds,
+            @Value("${video.drain.abort-grace-seconds:15}") long abortGraceSeconds) {
+        this.listenerRegistry = listenerRegistry;
+        this.eventPublisher = eventPublisher;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.abortGrace = Duration.ofSeconds(abortGraceSeconds);
+    }
+
+    public final class InFlightJob implements AutoCloseable {
+        private final String kind;
+
+        private InFlightJob(String kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        public void close() {
+            inFlightJobs.remove(this);
+        }
+    }
+
+    /**
+     * Registra um job iniciado por requisição; durante o drain a requisição é recusada.
+     */
+    public InFlightJob admit(String kind) {
+        if (state != State.RUNNING) {
+            throw new ServiceDrainingException("Instância em desligamento; reenvie a requisição.");
+        }
+        return track(kind);
+    }
+
+    /**
+     * Registra um job já entregue (mensagem da fila), que roda mesmo durante o drain.
+     */
+    public InFlightJob track(String kind) {
+        InFlightJob job = new InFlightJob(kind);
+        inFlightJobs.add(job);
+        return job;
+    }
+
+    public Status getStatus() {
+        Map<String, Long> jobsByKind = inFlightJobs.stream()
+                .collect(Collectors.groupingBy(job -> job.kind, Collectors.counting()));
+        return new Status(state, drainStartedAt, deadline, jobsByKind, VideoFFmpegProcessRegistry.snapshot(),
+                abortedEncodes);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void stop() {
+        drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread drainThread = new Thread(() -> {
+            try {
+                drain();
+            } finally {
+                callback.run();
+            }
+        }, "video-drain");
+        drainThread.start();
+    }
+
+    private void drain() {
+        if (state != State.RUNNING) {
+            return;
+        }
+        state = State.DRAINING;
+        drainStartedAt = Instant.now();
+        deadline = drainStartedAt.plus(timeout);
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("[drain] Iniciando drain | Jobs em andamento: {} | Prazo: {}", inFlightJobs.size(), deadline);
+
+        // O container espera os listeners em andamento antes de fechar o canal (ver RabbitMQConfig).
+        CompletableFuture<Void> listenersStopped = CompletableFuture.runAsync(listenerRegistry::stop);
+
+        waitForJobs(deadline);
+        if (!inFlightJobs.isEmpty()) {
+            log.warn("[drain] Prazo de {} s vencido com {} job(s) em andamento; encerrando encodes.",
+                    timeout.toSeconds(), inFlightJobs.size());
+            abortedEncodes = VideoFFmpegProcessRegistry.abortAll();
+            waitForJobs(Instant.now().plus(abortGrace));
+        }
+
+        try {
+            listenersStopped.get(abortGrace.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("[drain] Consumidores não pararam em {} s; as mensagens pendentes voltam para a fila.",
+                    abortGrace.toSeconds());
+        } catch (Exception e) {
+            log.warn("[drain] Erro ao parar os consumidores: {}", e.getMessage());
+        }
+
+        state = State.DRAINED;
+        running = false;
+        log.info("[drain] Drain concluído em {} ms | Jobs restantes: {} | Encodes encerrados: {}",
+                Duration.between(drainStartedAt, Instant.now()).toMillis(), inFlightJobs.size(), abortedEncodes);
+    }
+
+    private void waitForJobs(Instant until) {
+        while (!inFlightJobs.isEmpty() && Instant.now().isBefore(until)) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -6,28 +6,101 @@ import com.l8group.videoeditor.repositories.VideoFileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Busca de {@link VideoFile} por ID. Dentro de um escopo de job ({@link #openScope()}) cada vídeo é lido do
+ * banco uma única vez por thread: o lote valida, resolve a origem e executa várias operações sobre o mesmo ID.
+ */
 @Service
 @RequiredArgsConstructor
 public class VideoFileFinderService {
 
+    private static final ThreadLocal<Map<UUID, VideoFile>> SCOPED_LOOKUPS = new ThreadLocal<>();
+
     private final VideoFileRepository videoFileRepository;
 
+    /**
+     * Escopo aberto pelo job e fechado no {@code finally}. Escopos aninhados reaproveitam o externo.
+     */
+    public static final class LookupScope implements AutoCloseable {
+
+        private final boolean owner;
+
+        private LookupScope(boolean owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (owner) {
+                SCOPED_LOOKUPS.remove();
+            }
+        }
+    }
+
+    public LookupScope openScope() {
+        if (SCOPED_LOOKUPS.get() != null) {
+            return new LookupScope(false);
+        }
+        SCOPED_LOOKUPS.set(new HashMap<>());
+        return new LookupScope(true);
+    }
+
     public VideoFile findById(String rawId) {
-        UUID id;
+        UUID id = parseId(rawId);
+        Map<UUID, VideoFile> scoped = SCOPED_LOOKUPS.get();
+        if (scoped == null) {
+            return load(id, rawId);
+        }
+        VideoFile cached = scoped.get(id);
+        if (cached == null) {
+            cached = load(id, rawId);
+            scoped.put(id, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Lê sempre do banco, ignorando o escopo, e atualiza a entrada do escopo quando houver um aberto.
+     */
+    public VideoFile reload(String rawId) {
+        UUID id = parseId(rawId);
+        VideoFile videoFile = load(id, rawId);
+        Map<UUID, VideoFile> scoped = SCOPED_LOOKUPS.get();
+        if (scoped != null) {
+            scoped.put(id, videoFile);
+        }
+        return videoFile;
+    }
+
+    /**
+     * Descarta do escopo da thread atual os vídeos alterados (status, variantes registradas).
+     */
+    public void evict(Collection<UUID> ids) {
+        Map<UUID, VideoFile> scoped = SCOPED_LOOKUPS.get();
+        if (scoped != null) {
+            ids.forEach(scoped::remove);
+        }
+    }
+
+    private UUID parseId(String rawId) {
         try {
-            id = UUID.fromString(rawId);
+            return UUID.fromString(rawId);
         } catch (IllegalArgumentException ex) {
             throw new VideoProcessingException(
                 String.format("Nenhum arquivo de vídeo encontrado correspondente ao ID: '%s'", rawId)
             );
         }
-    
+    }
+
+    private VideoFile load(UUID id, String rawId) {
         return videoFileRepository.findById(id)
             .orElseThrow(() -> new VideoProcessingException(
                 String.format("Nenhum arquivo de vídeo encontrado correspondente ao ID: '%s'", rawId)
             ));
     }
-    
 }
@@ -4,24 +4,21 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
-import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.l8group.videoeditor.dtos.VideoFileListDTO;
 import com.l8group.videoeditor.dtos.VideoFileResponseDTO;
 import com.l8group.videoeditor.enums.VideoStatusEnum;
-import com.l8group.videoeditor.exceptions.NoVideosFoundException;
+import com.l8group.videoeditor.metrics.VideoDatabasePoolMetrics;
 import com.l8group.videoeditor.metrics.VideoFileMetrics;
 import com.l8group.videoeditor.models.UserAccount;
 import com.l8group.videoeditor.models.VideoFile;
 import com.l8group.videoeditor.rabbit.producer.VideoProcessingProducer;
 import com.l8group.videoeditor.repositories.UserRepository;
 import com.l8group.videoeditor.repositories.VideoFileRepository;
+import com.l8group.videoeditor.security.VideoUserPrincipal;
 import com.l8group.videoeditor.utils.VideoFileStorageUtils;
 import com.l8group.videoeditor.utils.VideoDurationUtils;
 import com.l8group.videoeditor.utils.VideoFileNameGenerator;
@@ -36,8 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class VideoFileService {
 
-    @Value("${video.upload.dir}")
-    private String STORAGE_DIR;
+    @Value("${video.source.keep-local-copy:true}")
+    private boolean keepLocalCopy;
 
     private final VideoFileRepository videoFileRepository;
     private final VideoProcessingProducer videoProcessingProducer;
@@ -46,8 +43,10 @@ public class VideoFileService {
     private final VideoStatusService videoStatusManagerService;
     private final UserRepository userAccountRepository;
     private final VideoS3Service videoS3Service;
+    private final VideoMediaCacheService videoMediaCacheService;
+    private final VideoStorageVolumeService videoStorageVolumeService;
+    private final VideoDatabasePoolMetrics videoDatabasePoolMetrics;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public VideoFileResponseDTO uploadVideo(MultipartFile file) throws IOException {
         log.info("[uploadVideo] Iniciando upload de vídeo: {}", file.getOriginalFilename());
         videoFileMetrics.incrementUploadRequests();
@@ -64,29 +63,39 @@ public class VideoFileService {
 
             String originalFileName = file.getOriginalFilename();
             String newFileName = VideoFileNameGenerator.generateUniqueFileName(originalFileName);
-            String finalFilePath = VideoFileStorageUtils.buildFilePath(STORAGE_DIR, newFileName);
+            Path targetPath = videoStorageVolumeService.placeUpload(newFileName);
+            String finalFilePath = targetPath.toString();
 
             log.debug("[uploadVideo] Nome do arquivo gerado: {} | Caminho final: {}", newFileName, finalFilePath);
 
-            VideoFileStorageUtils.createDirectoryIfNotExists(STORAGE_DIR);
-            log.debug("[uploadVideo] Diretório de armazenamento verificado/criado: {}", STORAGE_DIR);
+            VideoFileStorageUtils.createDirectoryIfNotExists(targetPath.getParent().toString());
+            log.debug("[uploadVideo] Diretório de armazenamento verificado/criado: {}", targetPath.getParent());
 
             tempFile = File.createTempFile("upload_", "_" + originalFileName);
             file.transferTo(tempFile);
             log.info("[uploadVideo] Arquivo salvo temporariamente em: {}", tempFile.getAbsolutePath());
 
+            videoDatabasePoolMetrics.recordExternalStep("UPLOAD_VALIDATION");
             VideoFileValidation.validateWithFFmpeg(tempFile.getAbsolutePath());
             log.info("[uploadVideo] Validação FFmpeg concluída com sucesso");
 
-            Path targetPath = Path.of(finalFilePath);
             VideoFileStorageUtils.moveFile(tempFile.toPath(), targetPath);
             log.info("[uploadVideo] Arquivo movido para diretório final: {}", finalFilePath);
 
             UserAccount userAccount = getCurrentUser();
             VideoFile videoFile = createVideoEntity(file, finalFilePath, newFileName, userAccount);
 
-            String s3Url = videoS3Service.uploadRawFile(targetPath.toFile(), newFileName, videoFile.getId());
-            log.info("[uploadVideo] Arquivo enviado ao S3 com URL: {}", s3Url);
+            videoDatabasePoolMetrics.recordExternalStep("S3_UPLOAD");
+            String s3Key = videoS3Service.uploadRawObject(targetPath.toFile(), newFileName, videoFile.getId());
+            videoFile.setVideoS3Key(s3Key);
+            log.info("[uploadVideo] Arquivo enviado ao S3 com chave: {}", s3Key);
+
+            if (!keepLocalCopy) {
+                VideoFileStorageUtils.deleteFileIfExists(targetPath.toFile());
+                log.info("[uploadVideo] Cópia local descartada; o processamento lerá o original direto do S3");
+            } else {
+                videoMediaCacheService.register(targetPath.toFile());
+            }
 
             uploadedVideoFile = videoFileRepository.save(videoFile);
             log.info("[uploadVideo] Entidade VideoFile salva com ID: {}", uploadedVideoFile.getId());
@@ -129,6 +138,10 @@ public class VideoFileService {
         org.springframework.security.core.Authentication authentication = org.springframework.security.core.context.SecurityContextHolder
                 .getContext().getAuthentication();
         if (authentication != null) {
+            // O filtro JWT já carregou a conta: referência pelo ID, sem nova consulta.
+            if (authentication.getPrincipal() instanceof VideoUserPrincipal principal) {
+                return userAccountRepository.getReferenceById(principal.getUserId());
+            }
             String username = authentication.getName();
             return userAccountRepository.findByUserName(username)
                     .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -141,17 +154,6 @@ public class VideoFileService {
         return videoFileFinderService.findById(id);
     }
 
-    public List<VideoFileListDTO> listAllVideos() {
-        log.info("[listAllVideos] Listando todos os vídeos");
-        List<VideoFileListDTO> videos = videoFileRepository.findAllVideos();
-        if (videos.isEmpty()) {
-            log.warn("[listAllVideos] Nenhum vídeo encontrado na base de dados");
-            throw new NoVideosFoundException("Nenhum vídeo encontrado.");
-        }
-        log.info("[listAllVideos] {} vídeos encontrados", videos.size());
-        return videos;
-    }
-
     private void validateFileFormat(MultipartFile file) {
         if (file.isEmpty()) {
             log.warn("[validateFileFormat] Arquivo recebido está vazio");
@@ -0,0 +1,83 @@
+package com.l8group.videoeditor.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.utils.VideoAudioUtils;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+import com.l8group.videoeditor.utils.VideoProcessorUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoHlsService {
+
+    private final VideoS3Service s3Service;
+    private final VideoTempWorkspaceService videoTempWorkspaceService;
+
+    @Value("${video.temp.dir}")
+    private String TEMP_DIR;
+
+    @Value("${video.hls.segment-duration-seconds:6}")
+    private int segmentDurationSeconds;
+
+    public String packageAndUpload(VideoTempWorkspaceService.JobWorkspace workspace, String inputFilePath,
+            String packageName, UUID videoId) throws IOException {
+        return packageAndUpload(workspace, inputFilePath, packageName, List.of(), videoId);
+    }
+
+    /**
+     * Empacota no workspace do job, quando houver, sob a cota e a limpeza dele; sem workspace, em video.temp.dir.
+     * O diretório do pacote é removido assim que o upload termina.
+     */
+    public String packageAndUpload(VideoTempWorkspaceService.JobWorkspace workspace, String inputFilePath,
+            String packageName, List<String> ladderResolutions, UUID videoId) throws IOException {
+        log.info("[packageAndUpload] Empacotando saída em HLS | Vídeo ID: {} | Pacote: {} | Escada: {}",
+                videoId, packageName, ladderResolutions);
+
+        Path outputDirectory = workspace != null
+                ? Paths.get(workspace.newFile(packageName))
+                : Paths.get(TEMP_DIR, packageName);
+        VideoFileStorageUtils.createDirectoryIfNotExists(outputDirectory.toString());
+
+        try {
+            boolean ladder = ladderResolutions != null && !ladderResolutions.isEmpty();
+            boolean success;
+            if (ladder) {
+                for (int variant = 0; variant < ladderResolutions.size(); variant++) {
+                    VideoFileStorageUtils.createDirectoryIfNotExists(
+                            outputDirectory.resolve("stream_" + variant).toString());
+                }
+                success = VideoProcessorUtils.packageHlsLadder(inputFilePath, outputDirectory.toString(),
+                        ladderResolutions, VideoAudioUtils.hasAudioTrack(inputFilePath), segmentDurationSeconds);
+            } else {
+                success = VideoProcessorUtils.packageHls(inputFilePath, outputDirectory.toString(),
+                        segmentDurationSeconds);
+            }
+
+            if (!success) {
+                throw new VideoProcessingException("Falha ao empacotar o vídeo em HLS.");
+            }
+            if (workspace != null) {
+                videoTempWorkspaceService.enforceQuota(workspace);
+            }
+
+            String entryPlaylist = ladder
+                    ? VideoProcessorUtils.HLS_MASTER_PLAYLIST_NAME
+                    : VideoProcessorUtils.HLS_PLAYLIST_NAME;
+            return s3Service.uploadHlsDirectory(outputDirectory, packageName, entryPlaylist, videoId);
+        } finally {
+            VideoFileStorageUtils.deleteDirectoryIfExists(outputDirectory);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.l8group.videoeditor.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.l8group.videoeditor.config.ApiRole;
+import com.l8group.videoeditor.exceptions.IdempotencyKeyInProgressException;
+import com.l8group.videoeditor.exceptions.IdempotencyKeyMismatchException;
+import com.l8group.videoeditor.metrics.VideoIdempotencyMetrics;
+import com.l8group.videoeditor.models.VideoIdempotencyKey;
+import com.l8group.videoeditor.repositories.VideoIdempotencyKeyRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key das submissões síncronas. A primeira submissão grava a chave com a impressão digital da
+ * requisição (a restrição única decide entre nós concorrentes) e roda o job; as repetidas com a mesma chave
+ * esperam o job em andamento ou recebem a resposta gravada. Uma submissão que falha libera a chave para nova
+ * tentativa; chave reusada com outra requisição é recusada. Enquanto a submissão roda, este nó renova o
+ * arrendamento da chave numa thread própria; só uma chave com o arrendamento vencido (o nó caiu) é liberada, por
+ * mais que o job demore.
+ */
+@Slf4j
+@ApiRole
+@Service
+@RequiredArgsConstructor
+public class VideoIdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final VideoIdempotencyKeyRepository idempotencyKeyRepository;
+    private final VideoIdempotencyMetrics videoIdempotencyMetrics;
+    private final ObjectMapper objectMapper;
+
+    @Value("${video.idempotency.attach-timeout-seconds:120}")
+    private long attachTimeoutSeconds;
+
+    @Value("${video.idempotency.poll-ms:1000}")
+    private long pollMs;
+
+    @Value("${video.idempotency.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${video.idempotency.lease-renew-ms:30000}")
+    private long leaseRenewMs;
+
+    @Value("${video.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    private final Set<UUID> leasedKeys = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leaseExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "video-idempotency-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public record Result(ResponseEntity<?> response, UUID resourceId) {
+    }
+
+    @FunctionalInterface
+    public interface Submission {
+        Result submit() throws IOException;
+    }
+
+    @PostConstruct
+    public void startLeaseRenewal() {
+        leaseExecutor.scheduleWithFixedDelay(this::renewLeases, leaseRenewMs, leaseRenewMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseExecutor.shutdownNow();
+    }
+
+    /**
+     * Executa a submissão uma única vez por chave. Sem chave, apenas executa.
+     */
+    public ResponseEntity<?> execute(String scope, String key, String fingerprint, Submission submission)
+            throws IOException {
+        if (key == null || key.isBlank()) {
+            return submission.submit().response();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "O cabeçalho " + HEADER + " deve ter no máximo " + MAX_KEY_LENGTH + " caracteres.");
+        }
+
+        String owner = currentOwner();
+        ZonedDateTime attachDeadline = ZonedDateTime.now().plusSeconds(attachTimeoutSeconds);
+        boolean waited = false;
+        while (true) {
+            Optional<VideoIdempotencyKey> claimed = claim(scope, owner, key, fingerprint);
+            if (claimed.isPresent()) {
+                videoIdempotencyMetrics.recordSubmission(scope, "executed");
+                return run(claimed.get(), submission);
+            }
+
+            Optional<VideoIdempotencyKey> existing = idempotencyKeyRepository
+                    .findByScopeAndOwnerNameAndIdempotencyKey(scope, owner, key);
+            if (existing.isEmpty()) {
+                // A submissão original falhou e liberou a chave entre o INSERT e a consulta.
+                continue;
+            }
+            VideoIdempotencyKey record = existing.get();
+            if (!record.getRequestFingerprint().equals(fingerprint)) {
+                videoIdempotencyMetrics.recordSubmission(scope, "mismatch");
+                throw new IdempotencyKeyMismatchException(
+                        "A " + HEADER + " informada já foi usada com outra requisição.");
+            }
+            if (record.getCompletedTimes() != null) {
+                videoIdempotencyMetrics.recordSubmission(scope, waited ? "attached" : "replayed");
+                log.info("[execute] {} {} repetida; devolvendo a resposta do recurso {}.", scope, key,
+                        record.getResourceId());
+                return replay(record);
+            }
+            ZonedDateTime now = ZonedDateTime.now();
+            if (record.getLeaseExpiresAt() == null || record.getLeaseExpiresAt().isBefore(now)) {
+                // O nó que atendia a submissão original caiu sem concluir nem liberar a chave.
+                if (idempotencyKeyRepository.deleteIfLeaseExpired(record.getId(), now) > 0) {
+                    log.warn("[execute] {} {} abandonada (arrendamento vencido em {}); liberando a chave.", scope,
+                            key, record.getLeaseExpiresAt());
+                }
+                continue;
+            }
+            if (ZonedDateTime.now().isAfter(attachDeadline)) {
+                videoIdempotencyMetrics.recordSubmission(scope, "in_progress");
+                throw new IdempotencyKeyInProgressException(
+                        "A requisição com esta " + HEADER + " ainda está em processamento; tente novamente mais tarde.");
+            }
+            waited = true;
+            sleep();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${video.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteCompletedBefore(ZonedDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.info("[purgeExpired] {} chave(s) de idempotência expirada(s) removida(s).", purged);
+        }
+    }
+
+    public String fingerprint(Object request) {
+        try {
+            return DigestUtils.sha256Hex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao calcular a impressão digital da requisição.", e);
+        }
+    }
+
+    private Optional<VideoIdempotencyKey> claim(String scope, String owner, String key, String fingerprint) {
+        VideoIdempotencyKey record = new VideoIdempotencyKey();
+        record.setScope(scope);
+        record.setOwnerName(owner);
+        record.setIdempotencyKey(key);
+        record.setRequestFingerprint(fingerprint);
+        record.setCreatedTimes(ZonedDateTime.now());
+        record.setLeaseExpiresAt(leaseExpiry());
+        try {
+            return Optional.of(idempotencyKeyRepository.saveAndFlush(record));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private ResponseEntity<?> run(VideoIdempotencyKey record, Submission submission) throws IOException {
+        Result result;
+        leasedKeys.add(record.getId());
+        try {
+            result = submission.submit();
+        } catch (IOException | RuntimeException e) {
+            idempotencyKeyRepository.deleteById(record.getId());
+            throw e;
+        } finally {
+            leasedKeys.remove(record.getId());
+        }
+
+        ResponseEntity<?> response = result.response();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            idempotencyKeyRepository.deleteById(record.getId());
+            return response;
+        }
+        try {
+            record.setResourceId(result.resourceId());
+            record.setResponseStatus(response.getStatusCode().value());
+            record.setResponseBody(objectMapper.writeValueAsString(response.getBody()));
+            record.setCompletedTimes(ZonedDateTime.now());
+            idempotencyKeyRepository.save(record);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // O job já foi feito; sem a resposta gravada, a próxima repetição roda de novo.
+            log.error("[run] Erro ao gravar a resposta da {} {}: {}", record.getScope(),
+                    record.getIdempotencyKey(), e.getMessage());
+            idempotencyKeyRepository.deleteById(record.getId());
+        }
+        return response;
+    }
+
+    private void renewLeases() {
+        if (leasedKeys.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyKeyRepository.renewLeases(List.copyOf(leasedKeys), leaseExpiry());
+        } catch (RuntimeException e) {
+            log.warn("[renewLeases] Erro ao renovar o arrendamento das chaves {}: {}", leasedKeys, e.getMessage());
+        }
+    }
+
+    private ZonedDateTime leaseExpiry() {
+        return ZonedDateTime.now().plus(Duration.ofMillis(leaseMs));
+    }
+
+    private ResponseEntity<?> replay(VideoIdempotencyKey record) {
+        return ResponseEntity.status(record.getResponseStatus())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(record.getResponseBody());
+    }
+
+    private String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(
+                    "A requisição com esta " + HEADER + " ainda está em processamento; tente novamente mais tarde.");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.l8group.videoeditor.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.metrics.VideoDatabasePoolMetrics;
+import com.l8group.videoeditor.models.VideoFile;
+import com.l8group.videoeditor.repositories.VideoFileRepository;
+import com.l8group.videoeditor.utils.VideoFileNameGenerator;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+import com.l8group.videoeditor.utils.VideoProcessorUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Etapas de ingestão executadas fora do caminho da requisição de upload, a partir da fila de processamento:
+ * <ul>
+ * <li>mezzanine: cópia do original no perfil da casa (CFR, GOP curto e fechado, moov no início), que passa a
+ * ser a entrada dos jobs;</li>
+ * <li>proxy: cópia de baixa resolução e baixo bitrate usada pelos lotes em modo de pré-visualização.</li>
+ * </ul>
+ * O original continua guardado; se uma etapa falhar, os jobs seguem lendo o original.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoIngestService {
+
+    private static final String DERIVED_FORMAT = "mp4";
+
+    private final VideoFileFinderService videoFileFinderService;
+    private final VideoFileRepository videoFileRepository;
+    private final VideoSourceService videoSourceService;
+    private final VideoTempWorkspaceService videoTempWorkspaceService;
+    private final VideoStorageVolumeService videoStorageVolumeService;
+    private final VideoMediaCacheService videoMediaCacheService;
+    private final VideoS3Service videoS3Service;
+    private final VideoDatabasePoolMetrics videoDatabasePoolMetrics;
+
+    @Value("${video.mezzanine.enabled:false}")
+    private boolean mezzanineEnabled;
+
+    @Value("${video.mezzanine.gop-seconds:1}")
+    private int gopSeconds;
+
+    @Value("${video.mezzanine.frame-rate:30}")
+    private int frameRate;
+
+    @Value("${video.proxy.enabled:false}")
+    private boolean proxyEnabled;
+
+    @Value("${video.proxy.height:360}")
+    private int proxyHeight;
+
+    @Value("${video.proxy.video-bitrate:600k}")
+    private String proxyVideoBitrate;
+
+    private record Variant(String fileName, String s3Key) {
+    }
+
+    public void normalize(UUID videoId) {
+        if (!mezzanineEnabled) {
+            return;
+        }
+        log.info("[normalize] Normalizando vídeo {} | GOP: {}s | FPS: {}", videoId, gopSeconds, frameRate);
+        deriveVariant(videoId, "mezzanine", VideoFile::getMezzanineS3Key,
+                (input, output) -> VideoProcessorUtils.transcodeToMezzanine(input, output, gopSeconds, frameRate),
+                (videoFile, variant) -> {
+                    videoFile.setMezzanineFileName(variant.fileName());
+                    videoFile.setMezzanineS3Key(variant.s3Key());
+                });
+    }
+
+    public void generateProxy(UUID videoId) {
+        if (!proxyEnabled) {
+            return;
+        }
+        log.info("[generateProxy] Gerando proxy do vídeo {} | Altura: {}p | Bitrate: {}", videoId, proxyHeight,
+                proxyVideoBitrate);
+        deriveVariant(videoId, "proxy", VideoFile::getProxyS3Key,
+                (input, output) -> VideoProcessorUtils.transcodeToProxy(input, output, proxyHeight, proxyVideoBitrate),
+                (videoFile, variant) -> {
+                    videoFile.setProxyFileName(variant.fileName());
+                    videoFile.setProxyS3Key(variant.s3Key());
+                });
+    }
+
+    /**
+     * Gera uma variante derivada do vídeo, envia ao S3, guarda a cópia local ao lado do original e registra
+     * nome e chave na entidade. Idempotente: não faz nada se a variante já estiver registrada.
+     */
+    private void deriveVariant(UUID videoId, String suffix, Function<VideoFile, String> existingKey,
+            BiPredicate<String, String> transcoder, BiConsumer<VideoFile, Variant> registrar) {
+        // Lança enquanto a transação do upload não tiver sido confirmada, para o consumidor retentar.
+        VideoFile videoFile = videoFileFinderService.findById(videoId.toString());
+        if (existingKey.apply(videoFile) != null) {
+            log.info("[deriveVariant] Vídeo {} já possui {}: {}", videoId, suffix, existingKey.apply(videoFile));
+            return;
+        }
+
+        String variantFileName = buildVariantFileName(videoFile, suffix);
+        String sourcePath = null;
+        VideoTempWorkspaceService.JobWorkspace workspace = null;
+        try {
+            sourcePath = videoSourceService.acquire(videoFile);
+            workspace = videoTempWorkspaceService.open(suffix, videoFile.getVideoFileSize(), sourcePath);
+            String outputFilePath = workspace.newFile(variantFileName);
+
+            videoDatabasePoolMetrics.recordExternalStep(suffix.toUpperCase());
+            if (!transcoder.test(sourcePath, outputFilePath)) {
+                log.error("[deriveVariant] Falha ao gerar {} do vídeo {}; os jobs seguirão lendo o original.",
+                        suffix, videoId);
+                return;
+            }
+
+            videoDatabasePoolMetrics.recordExternalStep("S3_UPLOAD");
+            String s3Key = videoS3Service.uploadRawObject(new File(outputFilePath), variantFileName, videoId);
+            Path targetPath = videoStorageVolumeService.placeUpload(variantFileName);
+            VideoFileStorageUtils.moveFile(Paths.get(outputFilePath), targetPath);
+            videoStorageVolumeService.recordUploadBytesWritten(targetPath, targetPath.toFile().length());
+            videoMediaCacheService.register(targetPath.toFile());
+
+            // Recarrega a entidade: o encode pode levar minutos e não deve sobrescrever alterações feitas nesse meio-tempo.
+            VideoFile current = videoFileFinderService.reload(videoId.toString());
+            registrar.accept(current, new Variant(variantFileName, s3Key));
+            videoFileRepository.save(current);
+            videoFileFinderService.evict(List.of(videoId));
+            log.info("[deriveVariant] Variante {} do vídeo {} registrada: {}", suffix, videoId, s3Key);
+        } catch (IOException | RuntimeException e) {
+            log.error("[deriveVariant] Erro ao gerar {} do vídeo {}; os jobs seguirão lendo o original: {}",
+                    suffix, videoId, e.getMessage());
+        } finally {
+            if (sourcePath != null) {
+                videoSourceService.release(videoFile);
+            }
+            videoTempWorkspaceService.close(workspace);
+        }
+    }
+
+    private String buildVariantFileName(VideoFile videoFile, String suffix) {
+        String fileName = VideoFileNameGenerator.generateFileNameWithSuffix(videoFile.getVideoFileName(), suffix);
+        int dotIndex = fileName.lastIndexOf(".");
+        return (dotIndex != -1 ? fileName.substring(0, dotIndex) : fileName) + "." + DERIVED_FORMAT;
+    }
+}
@@ -0,0 +1,202 @@
+package com.l8group.videoeditor.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.exceptions.VideoJobNotCancellableException;
+import com.l8group.videoeditor.exceptions.VideoJobTerminatedException;
+import com.l8group.videoeditor.metrics.VideoBatchMetrics;
+import com.l8group.videoeditor.models.VideoProcessingBatch;
+import com.l8group.videoeditor.repositories.VideoBatchRepository;
+import com.l8group.videoeditor.utils.VideoFFmpegProcessRegistry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancelamento e prazo dos jobs em lote. Cada job vincula a sua thread no {@link VideoFFmpegProcessRegistry};
+ * ao ser encerrado, os encodes dele são derrubados e os próximos recusados, e o job termina pelo caminho normal
+ * de falha, que libera o workspace e a vaga. O cancelamento é gravado no banco (CANCELLED); se o lote roda em
+ * outro nó, esse nó o encontra na verificação periódica e encerra o job. O prazo vencido grava TIMED_OUT.
+ */
+@Slf4j
+@Service
+public class VideoJobControlService {
+
+    private final VideoBatchRepository videoBatchRepository;
+    private final VideoBatchFinderService videoBatchFinderService;
+    private final VideoStatusService videoStatusManagerService;
+    private final VideoBatchMetrics videoBatchMetrics;
+    private final ScheduledExecutorService deadlineExecutor;
+
+    @Value("${video.batch.default-deadline-seconds:0}")
+    private long defaultDeadlineSeconds;
+
+    private final Map<UUID, JobControl> jobsByBatch = new ConcurrentHashMap<>();
+
+    public VideoJobControlService(VideoBatchRepository videoBatchRepository,
+            VideoBatchFinderService videoBatchFinderService, VideoStatusService videoStatusManagerService,
+            VideoBatchMetrics videoBatchMetrics) {
+        this.videoBatchRepository = videoBatchRepository;
+        this.videoBatchFinderService = videoBatchFinderService;
+        this.videoStatusManagerService = videoStatusManagerService;
+        this.videoBatchMetrics = videoBatchMetrics;
+        this.deadlineExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "video-job-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public final class JobControl implements AutoCloseable {
+        private final UUID jobId = UUID.randomUUID();
+        private final Set<UUID> batchIds = ConcurrentHashMap.newKeySet();
+        private volatile ScheduledFuture<?> deadlineTask;
+        private volatile VideoStatusEnum terminatedAs;
+        private boolean finished;
+
+        private JobControl() {
+        }
+
+        /**
+         * Associa um lote ao job, tornando-o alvo do DELETE e do prazo.
+         */
+        public void attach(UUID batchId) {
+            batchIds.add(batchId);
+            jobsByBatch.put(batchId, this);
+            if (terminatedAs == VideoStatusEnum.TIMED_OUT) {
+                // O prazo venceu antes de o lote existir.
+                videoStatusManagerService.updateEntityStatus(videoBatchRepository, batchId, terminatedAs,
+                        "JobControl - Prazo excedido");
+            }
+        }
+
+        /**
+         * Interrompe o job entre etapas (ex.: antes do upload) se ele já tiver sido encerrado.
+         */
+        public void throwIfTerminated() {
+            VideoStatusEnum status = terminatedAs;
+            if (status == VideoStatusEnum.CANCELLED) {
+                throw new VideoJobTerminatedException(status, "Processamento em lote cancelado.");
+            }
+            if (status == VideoStatusEnum.TIMED_OUT) {
+                throw new VideoJobTerminatedException(status, "Processamento em lote excedeu o prazo definido.");
+            }
+        }
+
+        /**
+         * Desarma o prazo antes de o job gravar COMPLETED; se o job já tiver sido encerrado, interrompe-o.
+         * Depois daqui o prazo e o cancelamento local não encerram mais o job.
+         */
+        public void finish() {
+            synchronized (this) {
+                finished = true;
+            }
+            if (deadlineTask != null) {
+                deadlineTask.cancel(false);
+            }
+            throwIfTerminated();
+        }
+
+        @Override
+        public void close() {
+            if (deadlineTask != null) {
+                deadlineTask.cancel(false);
+            }
+            batchIds.forEach(jobsByBatch::remove);
+            VideoFFmpegProcessRegistry.unbindJob();
+        }
+    }
+
+    /**
+     * Abre o controle do job na thread atual. Sem prazo no pedido, vale {@code video.batch.default-deadline-seconds}
+     * (0 desliga).
+     */
+    public JobControl open(Integer deadlineSeconds) {
+        JobControl job = new JobControl();
+        VideoFFmpegProcessRegistry.bindJob(job.jobId);
+        long seconds = deadlineSeconds != null ? deadlineSeconds : defaultDeadlineSeconds;
+        if (seconds > 0) {
+            job.deadlineTask = deadlineExecutor.schedule(() -> terminate(job, VideoStatusEnum.TIMED_OUT), seconds,
+                    TimeUnit.SECONDS);
+        }
+        return job;
+    }
+
+    /**
+     * Cancela o lote: grava CANCELLED num único UPDATE condicional (só a partir de PROCESSING ou ERROR) e, se o
+     * job roda neste nó, encerra os encodes na hora.
+     */
+    public VideoStatusEnum cancel(String batchId) {
+        VideoProcessingBatch batch = videoBatchFinderService.findById(batchId);
+        int updated = videoStatusManagerService.updateEntitiesStatus(videoBatchRepository, List.of(batch.getId()),
+                VideoStatusEnum.CANCELLED, VideoStatusService.ACTIVE_STATUSES, "JobControl - Cancelamento");
+        if (updated == 0) {
+            VideoStatusEnum current = videoBatchFinderService.findById(batch.getId()).getStatus();
+            throw new VideoJobNotCancellableException(
+                    "O processamento " + batch.getId() + " já foi finalizado com status " + current + ".");
+        }
+
+        JobControl job = jobsByBatch.get(batch.getId());
+        if (job != null) {
+            terminate(job, VideoStatusEnum.CANCELLED);
+        }
+        log.info("[cancel] Lote {} cancelado{}.", batch.getId(), job != null ? " neste nó" : "");
+        return VideoStatusEnum.CANCELLED;
+    }
+
+    /**
+     * Encerra os jobs locais cujo lote foi cancelado por outro nó.
+     */
+    @Scheduled(fixedDelayString = "${video.batch.cancel-poll-ms:5000}")
+    public void pollCancellations() {
+        if (jobsByBatch.isEmpty()) {
+            return;
+        }
+        try {
+            videoBatchRepository.findIdsWithStatus(Set.copyOf(jobsByBatch.keySet()), VideoStatusEnum.CANCELLED)
+                    .forEach(batchId -> {
+                        JobControl job = jobsByBatch.get(batchId);
+                        if (job != null) {
+                            terminate(job, VideoStatusEnum.CANCELLED);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("[pollCancellations] Erro ao verificar cancelamentos: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlineExecutor.shutdownNow();
+    }
+
+    private void terminate(JobControl job, VideoStatusEnum status) {
+        synchronized (job) {
+            if (job.terminatedAs != null || job.finished) {
+                return;
+            }
+            job.terminatedAs = status;
+        }
+        VideoFFmpegProcessRegistry.KilledEncodes killed = VideoFFmpegProcessRegistry.abortJob(job.jobId);
+        if (status == VideoStatusEnum.TIMED_OUT) {
+            videoStatusManagerService.updateEntitiesStatus(videoBatchRepository, Set.copyOf(job.batchIds),
+                    VideoStatusEnum.TIMED_OUT, "JobControl - Prazo excedido");
+        }
+        videoBatchMetrics.recordJobKilled(status.name().toLowerCase(), killed.processes(), killed.cpuSeconds());
+        log.warn("[terminate] Job dos lotes {} encerrado ({}) | Encodes encerrados: {} | CPU descartada: {} s",
+                job.batchIds, status, killed.processes(), String.format("%.1f", killed.cpuSeconds()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.l8group.videoeditor.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.dtos.VideoFileListDTO;
+import com.l8group.videoeditor.dtos.VideoFilePageDTO;
+import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.exceptions.InvalidRequestException;
+import com.l8group.videoeditor.repositories.VideoFileRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listagem de vídeos paginada por chave sobre (created_at, id). O cursor opaco carrega a chave do último item,
+ * então cada página é uma busca no índice independente da profundidade. Páginas recentes ficam num cache curto
+ * em memória, junto com o ETag usado pelo controller para responder 304.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoListingService {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final VideoFileRepository videoFileRepository;
+
+    @Value("${video.listing.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${video.listing.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${video.listing.cache-ttl-seconds:5}")
+    private long cacheTtlSeconds;
+
+    @Value("${video.listing.cache-max-entries:1000}")
+    private int cacheMaxEntries;
+
+    private final Map<PageKey, CachedPage> pageCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public record Page(VideoFilePageDTO body, String etag) {
+    }
+
+    private record PageKey(UUID ownerId, VideoStatusEnum status, String cursor, int limit) {
+    }
+
+    private record CachedPage(Page page, long expiresAtMillis) {
+    }
+
+    public Page listVideos(UUID ownerId, VideoStatusEnum status, String cursor, Integer limit) {
+        int pageSize = resolveLimit(limit);
+        PageKey key = new PageKey(ownerId, status, cursor, pageSize);
+
+        Page cached = cachedPage(key);
+        if (cached != null) {
+            log.debug("[listVideos] Página servida do cache | Dono: {} | Status: {} | Cursor: {}", ownerId, status,
+                    cursor);
+            return cached;
+        }
+
+        ZonedDateTime afterCreatedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = Instant.parse(position[0]).atZone(ZoneOffset.UTC);
+            afterId = UUID.fromString(position[1]);
+        }
+
+        // Um item a mais indica se existe próxima página sem precisar de COUNT.
+        List<VideoFileListDTO> rows = videoFileRepository.findPage(ownerId, status, afterCreatedAt, afterId,
+                pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<VideoFileListDTO> items = hasNext ? List.copyOf(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasNext ? encodeCursor(items.get(items.size() - 1)) : null;
+
+        Page page = new Page(new VideoFilePageDTO(items, nextCursor), computeEtag(items, nextCursor));
+        storePage(key, page);
+        log.info("[listVideos] {} vídeo(s) listados | Dono: {} | Status: {} | Próxima página: {}", items.size(),
+                ownerId, status, hasNext);
+        return page;
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidRequestException(
+                    String.format("O parâmetro 'limit' deve estar entre 1 e %d.", maxLimit));
+        }
+        return limit;
+    }
+
+    private String encodeCursor(VideoFileListDTO last) {
+        String raw = last.getCreatedAt().toInstant() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] position = raw.split("\\" + CURSOR_SEPARATOR, 2);
+            Instant.parse(position[0]);
+            UUID.fromString(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Cursor de paginação inválido.");
+        }
+    }
+
+    private String computeEtag(List<VideoFileListDTO> items, String nextCursor) {
+        StringBuilder content = new StringBuilder();
+        for (VideoFileListDTO item : items) {
+            content.append(item.getId()).append(':').append(item.getStatus()).append(';');
+        }
+        content.append(nextCursor);
+        return "\"" + DigestUtils.sha256Hex(content.toString()) + "\"";
+    }
+
+    private synchronized Page cachedPage(PageKey key) {
+        CachedPage cached = pageCache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis() < System.currentTimeMillis()) {
+            pageCache.remove(key);
+            return null;
+        }
+        return cached.page();
+    }
+
+    private synchronized void storePage(PageKey key, Page page) {
+        if (cacheTtlSeconds <= 0) {
+            return;
+        }
+        pageCache.put(key, new CachedPage(page, System.currentTimeMillis() + cacheTtlSeconds * 1000));
+        if (pageCache.size() > cacheMaxEntries) {
+            pageCache.remove(pageCache.keySet().iterator().next());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.l8group.videoeditor.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.metrics.VideoMediaCacheMetrics;
+import com.l8group.videoeditor.repositories.VideoFileRepository;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache local de leitura dos vídeos originais, na frente de raw-videos/ no S3. Os arquivos ficam nos volumes de
+ * upload ({@code video.upload.dir} por padrão), no volume que o {@link VideoStorageVolumeService} atribui a cada
+ * nome, onde o upload, os serviços de operação e o VideoRetryScheduler já os procuram.
+ * Vídeos em uso por um job ficam fixados; os demais são removidos em ordem LRU quando o orçamento de bytes
+ * é excedido, mas só se já existirem no S3. A fixação acontece no mesmo bloco sincronizado que registra ou
+ * encontra a entrada, antes de qualquer remoção; a consulta ao banco sobre a cópia no S3 roda fora do monitor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoMediaCacheService {
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final VideoS3Service videoS3Service;
+    private final VideoFileRepository videoFileRepository;
+    private final VideoMediaCacheMetrics metrics;
+    private final VideoStorageVolumeService videoStorageVolumeService;
+
+    @Value("${video.cache.max-bytes:21474836480}")
+    private long maxBytes;
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Object> fetchLocks = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    private static final class CacheEntry {
+        private final long size;
+        private int pins;
+        // Cópia no S3 confirmada (baixado de lá ou registrado após o upload); falso = ainda não verificado.
+        private volatile boolean storedInS3;
+
+        private CacheEntry(long size, boolean storedInS3) {
+            this.size = size;
+            this.storedInS3 = storedInS3;
+        }
+    }
+
+    @PostConstruct
+    public void reconcile() {
+        List<Path> cachedFiles = new ArrayList<>();
+        for (VideoStorageVolumeService.Volume volume : videoStorageVolumeService.getUploadVolumes()) {
+            try (Stream<Path> files = Files.list(volume.getRoot())) {
+                files.filter(Files::isRegularFile).forEach(cachedFiles::add);
+            } catch (IOException e) {
+                log.warn("[reconcile] Falha ao indexar o diretório de cache {}: {}", volume.getRoot(), e.getMessage());
+            }
+        }
+        synchronized (this) {
+            cachedFiles.stream()
+                    .sorted(Comparator.comparingLong(path -> path.toFile().lastModified()))
+                    .forEach(path -> {
+                        String fileName = path.getFileName().toString();
+                        if (fileName.endsWith(PARTIAL_SUFFIX)) {
+                            VideoFileStorageUtils.deleteFileIfExists(path.toFile());
+                            return;
+                        }
+                        register(fileName, path.toFile().length(), false);
+                    });
+        }
+        log.info("[reconcile] Cache local indexado: {} arquivos, {} bytes (limite {} bytes)",
+                entries.size(), totalBytes, maxBytes);
+        evictIfNeeded();
+    }
+
+    /**
+     * Garante o arquivo no disco local, baixando do S3 em caso de ausência, e o fixa até
+     * {@link #release(String)}.
+     */
+    public String acquire(String fileName, String s3Key) {
+        return load(fileName, s3Key, true);
+    }
+
+    public void release(String fileName) {
+        synchronized (this) {
+            CacheEntry entry = entries.get(fileName);
+            if (entry != null && entry.pins > 0) {
+                entry.pins--;
+            }
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Devolve o caminho local do arquivo, baixando-o do S3 em caso de ausência, sem fixá-lo.
+     */
+    public String fetch(String fileName, String s3Key) {
+        return load(fileName, s3Key, false);
+    }
+
+    private String load(String fileName, String s3Key, boolean pin) {
+        Path localPath = videoStorageVolumeService.locateUpload(fileName)
+                .orElseGet(() -> videoStorageVolumeService.placeUpload(fileName));
+
+        if (touch(fileName, localPath, pin)) {
+            metrics.incrementCacheHits();
+            return localPath.toString();
+        }
+
+        Object lock = fetchLocks.computeIfAbsent(fileName, key -> new Object());
+        synchronized (lock) {
+            try {
+                if (touch(fileName, localPath, pin)) {
+                    metrics.incrementCacheHits();
+                    return localPath.toString();
+                }
+                if (s3Key == null) {
+                    throw new VideoProcessingException("Arquivo de vídeo não encontrado.");
+                }
+
+                metrics.incrementCacheMisses();
+                Timer.Sample sample = metrics.startFetchTimer();
+                Path partialPath = localPath.resolveSibling(fileName + PARTIAL_SUFFIX);
+                try {
+                    long size = videoS3Service.downloadToFile(s3Key, partialPath);
+                    Files.move(partialPath, localPath, StandardCopyOption.ATOMIC_MOVE);
+                    metrics.recordFetchDuration(sample);
+                    videoStorageVolumeService.recordUploadBytesWritten(localPath, size);
+                    log.info("[fetch] Objeto {} baixado para o cache local: {} ({} bytes)", s3Key, localPath, size);
+                    synchronized (this) {
+                        CacheEntry entry = register(fileName, size, true);
+                        if (pin) {
+                            entry.pins++;
+                        }
+                    }
+                } catch (IOException e) {
+                    VideoFileStorageUtils.deleteFileIfExists(partialPath.toFile());
+                    log.error("[fetch] Falha ao baixar o objeto {} para o cache: {}", s3Key, e.getMessage());
+                    throw new VideoProcessingException("Erro ao obter o vídeo original do S3.", e);
+                }
+                evictIfNeeded();
+                return localPath.toString();
+            } finally {
+                fetchLocks.remove(fileName, lock);
+            }
+        }
+    }
+
+    /**
+     * Registra um arquivo gravado diretamente no diretório do cache (por exemplo, um upload recém-recebido),
+     * depois de enviado ao S3.
+     */
+    public void register(File file) {
+        synchronized (this) {
+            register(file.getName(), file.length(), true);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Confirma a entrada existente (fixando-a, se pedido) ou, se o arquivo sumiu do disco, descarta a entrada.
+     */
+    private synchronized boolean touch(String fileName, Path localPath, boolean pin) {
+        if (!Files.exists(localPath)) {
+            CacheEntry stale = entries.remove(fileName);
+            if (stale != null) {
+                totalBytes -= stale.size;
+                metrics.setCachedBytes(totalBytes);
+            }
+            return false;
+        }
+        CacheEntry entry = entries.get(fileName);
+        if (entry == null) {
+            entry = register(fileName, localPath.toFile().length(), false);
+        }
+        if (pin) {
+            entry.pins++;
+        }
+        return true;
+    }
+
+    private CacheEntry register(String fileName, long size, boolean storedInS3) {
+        CacheEntry entry = new CacheEntry(size, storedInS3);
+        CacheEntry previous = entries.put(fileName, entry);
+        if (previous != null) {
+            totalBytes -= previous.size;
+            entry.pins = previous.pins;
+            entry.storedInS3 = storedInS3 || previous.storedInS3;
+        }
+        totalBytes += size;
+        metrics.setCachedBytes(totalBytes);
+        return entry;
+    }
+
+    /**
+     * Três fases: sob o monitor, copia os candidatos não fixados em ordem LRU; fora dele, consulta o banco sobre
+     * a cópia no S3 dos que ainda não a têm confirmada; de volta ao monitor, remove os que continuam iguais, sem
+     * fixação e com o orçamento ainda excedido.
+     */
+    private void evictIfNeeded() {
+        List<Map.Entry<String, CacheEntry>> candidates = new ArrayList<>();
+        long excess;
+        synchronized (this) {
+            excess = totalBytes - maxBytes;
+            if (excess <= 0) {
+                return;
+            }
+            entries.forEach((fileName, entry) -> {
+                if (entry.pins == 0) {
+                    candidates.add(Map.entry(fileName, entry));
+                }
+            });
+        }
+
+        long evictableBytes = 0;
+        for (Map.Entry<String, CacheEntry> candidate : candidates) {
+            if (evictableBytes >= excess) {
+                break;
+            }
+            // Sem cópia no S3 o arquivo local é o único original; fica até o VideoRetryScheduler reenviá-lo.
+            CacheEntry entry = candidate.getValue();
+            if (!entry.storedInS3 && hasS3Copy(candidate.getKey())) {
+                entry.storedInS3 = true;
+            }
+            if (entry.storedInS3) {
+                evictableBytes += entry.size;
+            }
+        }
+
+        synchronized (this) {
+            for (Map.Entry<String, CacheEntry> candidate : candidates) {
+                if (totalBytes <= maxBytes) {
+                    break;
+                }
+                CacheEntry entry = candidate.getValue();
+                if (entries.get(candidate.getKey()) != entry || entry.pins > 0 || !entry.storedInS3) {
+                    continue;
+                }
+                videoStorageVolumeService.locateUpload(candidate.getKey())
+                        .ifPresent(path -> VideoFileStorageUtils.deleteFileIfExists(path.toFile()));
+                totalBytes -= entry.size;
+                entries.remove(candidate.getKey());
+                metrics.incrementCacheEvictions();
+                log.info("[evictIfNeeded] Vídeo removido do cache local por LRU: {}", candidate.getKey());
+            }
+            metrics.setCachedBytes(totalBytes);
+        }
+    }
+
+    private boolean hasS3Copy(String fileName) {
+        try {
+            return videoFileRepository.existsByVideoFileNameAndVideoS3KeyIsNotNull(fileName)
+                    || videoFileRepository.existsByMezzanineFileNameAndMezzanineS3KeyIsNotNull(fileName)
+                    || videoFileRepository.existsByProxyFileNameAndProxyS3KeyIsNotNull(fileName);
+        } catch (RuntimeException e) {
+            log.warn("[evictIfNeeded] Falha ao verificar a cópia no S3 de {}: {}", fileName, e.getMessage());
+            return false;
+        }
+    }
+}
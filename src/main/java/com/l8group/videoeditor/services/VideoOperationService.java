@@ -30,30 +30,65 @@ public class VideoOperationService {
     private final Validator validator;
     private final VideoFileFinderService videoFileFinderService;
 
-    private static final List<String> SUPPORTED_OPERATIONS = List.of("CUT", "RESIZE", "OVERLAY", "CONVERT");
+    private static final List<String> SUPPORTED_OPERATIONS = List.of("CUT", "MULTI_CUT", "RESIZE", "OVERLAY", "CONVERT");
+    private static final int MAX_CUT_RANGES = 20;
     private static final Pattern TIME_PATTERN = Pattern.compile("^\\d{2}:\\d{2}:\\d{2}$");
 
+    /**
+     * Executa as operações sem revalidá-las: o chamador valida a cadeia inteira antes com
+     * {@link #validateAllOperations(String, List)}, uma vez por job.
+     */
     public String execute(String videoId,
                           List<VideoBatchRequest.BatchOperation> operations,
                           String currentInputFilePath,
                           String currentOutputFormat) {
+        return execute(videoId, operations, currentInputFilePath, currentOutputFormat, null);
+    }
 
-        log.info("[execute] Iniciando processamento do vídeo ID: {} | Input: {}", videoId, currentInputFilePath);
+    /**
+     * @param finalOutputFilePath destino fixo para a saída da última operação (ex.: FIFO de upload em streaming);
+     *                            quando nulo, cada serviço gera seu próprio arquivo em video.temp.dir
+     */
+    public String execute(String videoId,
+                          List<VideoBatchRequest.BatchOperation> operations,
+                          String currentInputFilePath,
+                          String currentOutputFormat,
+                          String finalOutputFilePath) {
+        return execute(videoId, operations, currentInputFilePath, currentOutputFormat, finalOutputFilePath, false);
+    }
 
-        validateAllOperations(videoId, operations);
+    /**
+     * @param preview executa a cadeia sobre o proxy de baixa resolução com preset ultrarrápido
+     */
+    public String execute(String videoId,
+                          List<VideoBatchRequest.BatchOperation> operations,
+                          String currentInputFilePath,
+                          String currentOutputFormat,
+                          String finalOutputFilePath,
+                          boolean preview) {
+
+        log.info("[execute] Iniciando processamento do vídeo ID: {} | Input: {}", videoId, currentInputFilePath);
 
         String outputFilePath = currentInputFilePath;
 
-        for (VideoBatchRequest.BatchOperation operation : operations) {
+        for (int index = 0; index < operations.size(); index++) {
+            VideoBatchRequest.BatchOperation operation = operations.get(index);
+            String outputTarget = index == operations.size() - 1 ? finalOutputFilePath : null;
             log.info("[execute] Executando operação: {} | Vídeo ID: {} | Caminho atual: {}",
                     operation.getOperationType(), videoId, outputFilePath);
 
             try {
                 outputFilePath = switch (operation.getOperationType().toUpperCase()) {
-                    case "CUT" -> handleCutOperation(videoId, operation.getParameters(), outputFilePath);
-                    case "RESIZE" -> handleResizeOperation(videoId, operation.getParameters(), outputFilePath);
-                    case "OVERLAY" -> handleOverlayOperation(videoId, operation.getParameters(), outputFilePath);
-                    case "CONVERT" -> handleConvertOperation(videoId, operation.getParameters(), outputFilePath);
+                    case "CUT" -> handleCutOperation(videoId, operation.getParameters(), outputFilePath, outputTarget,
+                            preview);
+                    case "MULTI_CUT" -> handleMultiCutOperation(videoId, operation.getParameters(), outputTarget,
+                            preview);
+                    case "RESIZE" -> handleResizeOperation(videoId, operation.getParameters(), outputFilePath,
+                            outputTarget, preview);
+                    case "OVERLAY" -> handleOverlayOperation(videoId, operation.getParameters(), outputFilePath,
+                            outputTarget, preview);
+                    case "CONVERT" -> handleConvertOperation(videoId, operation.getParameters(), outputFilePath,
+                            outputTarget, preview);
                     default -> throw new IllegalArgumentException("Operação inválida: " + operation.getOperationType()
                             + ". Os tipos suportados são: " + String.join(", ", SUPPORTED_OPERATIONS) + ".");
                 };
@@ -89,6 +124,23 @@ public class VideoOperationService {
                         validateRequest(cutRequest);
                         videoCutService.validateCutTimes(cutRequest, videoFile);
                     }
+                    case "MULTI_CUT" -> {
+                        List<VideoBatchRequest.CutRange> ranges = operation.getParameters().getRanges();
+                        if (ranges == null || ranges.isEmpty()) {
+                            throw new IllegalArgumentException(
+                                    "Informe ao menos um intervalo em 'ranges' para a operação MULTI_CUT.");
+                        }
+                        if (ranges.size() > MAX_CUT_RANGES) {
+                            throw new IllegalArgumentException(String.format(
+                                    "A operação MULTI_CUT aceita no máximo %d intervalos.", MAX_CUT_RANGES));
+                        }
+                        for (VideoCutRequest cutRequest : toCutRequests(videoId, ranges)) {
+                            log.debug("[validateAllOperations] MULTI_CUT intervalo: start={}, end={}",
+                                    cutRequest.getStartTime(), cutRequest.getEndTime());
+                            validateRequest(cutRequest);
+                            videoCutService.validateCutTimes(cutRequest, videoFile);
+                        }
+                    }
                     case "RESIZE" -> {
                         Integer width = parseInteger(operation.getParameters().getWidth());
                         Integer height = parseInteger(operation.getParameters().getHeight());
@@ -156,6 +208,35 @@ public class VideoOperationService {
         log.info("[validateAllOperations] Todas as operações validadas com sucesso.");
     }
 
+    public List<VideoResizeRequest> validateRenditions(String videoId, List<VideoBatchRequest.Rendition> renditions) {
+        log.info("[validateRenditions] Validando {} renderizações para vídeo ID: {}", renditions.size(), videoId);
+        List<String> errorMessages = new ArrayList<>();
+        List<VideoResizeRequest> requests = new ArrayList<>();
+        Set<String> seenResolutions = new java.util.HashSet<>();
+
+        for (VideoBatchRequest.Rendition rendition : renditions) {
+            Integer width = parseInteger(rendition.getWidth());
+            Integer height = parseInteger(rendition.getHeight());
+            try {
+                VideoResizeValidation.validate(width, height);
+                if (!seenResolutions.add(width + "x" + height)) {
+                    throw new InvalidResizeParameterException(
+                            "A resolução " + width + "x" + height + " foi informada mais de uma vez.");
+                }
+                requests.add(new VideoResizeRequest(videoId, width, height));
+            } catch (InvalidResizeParameterException e) {
+                String error = "Operation error 'RESIZE': " + e.getMessage();
+                errorMessages.add(error);
+                log.warn("[validateRenditions] Erro de resolução inválida: {}", error);
+            }
+        }
+
+        if (!errorMessages.isEmpty()) {
+            throw new BatchValidationException(errorMessages);
+        }
+        return requests;
+    }
+
     private void validateRequest(Object request) {
         Set<ConstraintViolation<Object>> violations = validator.validate(request);
         if (!violations.isEmpty()) {
@@ -170,16 +251,36 @@ public class VideoOperationService {
     }
 
     private String handleCutOperation(String videoId, VideoBatchRequest.OperationParameters parameters,
-                                      String inputPath) {
+                                      String inputPath, String outputTarget, boolean preview) {
         log.info("[handleCutOperation] Processando corte para vídeo ID: {} | start: {} | end: {}",
                 videoId, parameters.getStartTime(), parameters.getEndTime());
 
         VideoCutRequest request = new VideoCutRequest(videoId, parameters.getStartTime(), parameters.getEndTime());
-        return videoCutService.cutVideo(request, inputPath);
+        return videoCutService.cutVideo(request, inputPath, outputTarget, preview);
+    }
+
+    /**
+     * Dentro da cadeia de operações o MULTI_CUT sempre concatena os intervalos num único arquivo; clipes
+     * separados são tratados pelo {@link VideoBatchService} fora da cadeia.
+     */
+    private String handleMultiCutOperation(String videoId, VideoBatchRequest.OperationParameters parameters,
+                                           String outputTarget, boolean preview) {
+        log.info("[handleMultiCutOperation] Processando {} intervalos para vídeo ID: {}",
+                parameters.getRanges().size(), videoId);
+
+        List<String> outputs = videoCutService.cutVideoRanges(videoId, toCutRequests(videoId, parameters.getRanges()),
+                true, outputTarget != null ? List.of(outputTarget) : null, preview);
+        return outputs.get(0);
+    }
+
+    public List<VideoCutRequest> toCutRequests(String videoId, List<VideoBatchRequest.CutRange> ranges) {
+        return ranges.stream()
+                .map(range -> new VideoCutRequest(videoId, range.getStartTime(), range.getEndTime()))
+                .toList();
     }
 
     private String handleResizeOperation(String videoId, VideoBatchRequest.OperationParameters parameters,
-                                         String inputPath) {
+                                         String inputPath, String outputTarget, boolean preview) {
         log.info("[handleResizeOperation] Processando redimensionamento para vídeo ID: {} | width: {} | height: {}",
                 videoId, parameters.getWidth(), parameters.getHeight());
 
@@ -188,27 +289,27 @@ public class VideoOperationService {
 
         VideoResizeValidation.validate(width, height);
         VideoResizeRequest request = new VideoResizeRequest(videoId, width, height);
-        return videoResizeService.resizeVideo(request, inputPath);
+        return videoResizeService.resizeVideo(request, inputPath, outputTarget, preview);
     }
 
     private String handleOverlayOperation(String videoId, VideoBatchRequest.OperationParameters parameters,
-                                          String inputPath) {
+                                          String inputPath, String outputTarget, boolean preview) {
         log.info(
                 "[handleOverlayOperation] Aplicando overlay para vídeo ID: {} | texto: {} | posição: {} | fontSize: {}",
                 videoId, parameters.getWatermark(), parameters.getPosition(), parameters.getFontSize());
 
         VideoOverlayRequest request = new VideoOverlayRequest(videoId, parameters.getWatermark(),
                 parameters.getPosition(), parameters.getFontSize());
-        return videoOverlayService.processOverlay(request, inputPath);
+        return videoOverlayService.processOverlay(request, inputPath, outputTarget, preview);
     }
 
     private String handleConvertOperation(String videoId, VideoBatchRequest.OperationParameters parameters,
-                                           String inputPath) {
+                                           String inputPath, String outputTarget, boolean preview) {
         log.info("[handleConvertOperation] Convertendo vídeo ID: {} | formato de saída: {}",
                 videoId, parameters.getOutputFormat());
 
         VideoConversionRequest request = new VideoConversionRequest(videoId, parameters.getOutputFormat());
-        return videoConversionService.convertVideo(request, inputPath);
+        return videoConversionService.convertVideo(request, inputPath, outputTarget, preview);
     }
 
     private Integer parseInteger(String value) {
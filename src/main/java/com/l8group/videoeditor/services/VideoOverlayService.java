@@ -17,7 +17,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.time.ZonedDateTime;
@@ -32,13 +31,22 @@ public class VideoOverlayService {
     private final VideoOverlayMetrics metrics;
     private final VideoFileFinderService videoFileFinderService;
     private final VideoOverlayValidation videoOverlayValidator;
-    private final VideoStatusService videoStatusManagerService;
+    private final VideoAuditWriterService videoAuditWriterService;
+    private final VideoSourceService videoSourceService;
 
     @Value("${video.temp.dir}")
     private String TEMP_DIR;
 
-    @Transactional
     public String processOverlay(VideoOverlayRequest request, String previousFilePath) {
+        return processOverlay(request, previousFilePath, null);
+    }
+
+    public String processOverlay(VideoOverlayRequest request, String previousFilePath, String outputFilePathOverride) {
+        return processOverlay(request, previousFilePath, outputFilePathOverride, false);
+    }
+
+    public String processOverlay(VideoOverlayRequest request, String previousFilePath, String outputFilePathOverride,
+            boolean preview) {
         log.info("Iniciando processo de overlay para vídeo ID: {}", request.getVideoId());
         metrics.incrementOverlayRequests();
         metrics.incrementProcessingQueueSize();
@@ -49,10 +57,14 @@ public class VideoOverlayService {
         videoOverlayValidator.validate(request);
 
         VideoFile videoFile = videoFileFinderService.findById(videoId);
-        String inputFilePath = previousFilePath != null ? previousFilePath : videoFile.getVideoFilePath();
+        String inputFilePath = previousFilePath != null
+                ? previousFilePath
+                : videoSourceService.resolveSourcePath(videoFile, preview);
         validateInputFile(inputFilePath);
 
-        String outputFilePath = prepareOutputFile(videoFile.getVideoFileName());
+        String outputFilePath = outputFilePathOverride != null
+                ? outputFilePathOverride
+                : prepareOutputFile(videoFile.getVideoFileName());
 
         VideoOverlay overlayEntity = saveOverlayEntity(videoFile, request);
 
@@ -62,7 +74,7 @@ public class VideoOverlayService {
 
             boolean success = VideoOverlayUtils.applyTextOverlayWithFFmpeg(
                     inputFilePath, outputFilePath,
-                    request.getWatermark(), request.getPosition(), request.getFontSize(), null
+                    request.getWatermark(), request.getPosition(), request.getFontSize(), null, preview
             );
 
             if (!success) {
@@ -76,28 +88,31 @@ public class VideoOverlayService {
             long fileSize = new File(outputFilePath).length();
             metrics.setOverlayFileSize(fileSize);
 
-            videoStatusManagerService.updateEntityStatus(
-                    videoOverlayRepository, overlayEntity.getId(), VideoStatusEnum.COMPLETED, "Overlay concluído com sucesso");
+            videoAuditWriterService.updateStatus(
+                    videoOverlayRepository, overlayEntity, VideoStatusEnum.COMPLETED, "Overlay concluído com sucesso");
 
             log.info("Overlay aplicado com sucesso. Tamanho do arquivo de saída: {} bytes", fileSize);
 
         } catch (Exception e) {
             log.error("Erro durante o processamento de overlay: {}", e.getMessage(), e);
             metrics.incrementOverlayFailure();
-            videoStatusManagerService.updateEntityStatus(
-                    videoOverlayRepository, overlayEntity.getId(), VideoStatusEnum.ERROR, "Erro inesperado no overlay");
+            videoAuditWriterService.updateStatus(
+                    videoOverlayRepository, overlayEntity, VideoStatusEnum.ERROR, "Erro inesperado no overlay");
             throw new VideoProcessingException("Erro inesperado ao aplicar overlay.", e);
         } finally {
             metrics.recordOverlayProcessingDuration(sample);
             metrics.decrementProcessingQueueSize();
         }
 
-        videoOverlayProducer.sendVideoOverlayMessage(videoId);
+        videoAuditWriterService.publish(() -> videoOverlayProducer.sendVideoOverlayMessage(videoId));
         log.info("Processo de overlay finalizado com sucesso.");
         return outputFilePath;
     }
 
     private void validateInputFile(String filePath) {
+        if (VideoFileStorageUtils.isRemotePath(filePath)) {
+            return;
+        }
         File file = new File(filePath);
         if (!file.exists()) {
             throw new VideoProcessingException("Arquivo de entrada inexistente.");
@@ -119,7 +134,7 @@ public class VideoOverlayService {
         overlay.setStatus(VideoStatusEnum.PROCESSING);
         overlay.setCreatedTimes(ZonedDateTime.now());
         overlay.setUpdatedTimes(ZonedDateTime.now());
-        return videoOverlayRepository.save(overlay);
+        return videoAuditWriterService.record(videoOverlayRepository, overlay);
     }
 
     public void deleteTemporaryFiles(String filePath) {
@@ -22,12 +22,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -41,13 +42,22 @@ public class VideoResizeService {
     private final VideoResizeMetrics videoResizeMetrics;
     private final VideoFileFinderService videoFileFinderService;
     private final Validator validator;
-    private final VideoStatusService videoStatusManagerService;
+    private final VideoAuditWriterService videoAuditWriterService;
+    private final VideoSourceService videoSourceService;
 
     @Value("${video.temp.dir}")
     private String tempDir;
 
-    @Transactional
     public String resizeVideo(VideoResizeRequest request, String previousFilePath) {
+        return resizeVideo(request, previousFilePath, null);
+    }
+
+    public String resizeVideo(VideoResizeRequest request, String previousFilePath, String outputFilePathOverride) {
+        return resizeVideo(request, previousFilePath, outputFilePathOverride, false);
+    }
+
+    public String resizeVideo(VideoResizeRequest request, String previousFilePath, String outputFilePathOverride,
+            boolean preview) {
         log.info("[resizeVideo] Iniciando redimensionamento | VideoId: {} | Dimensões: {}x{}",
                 request.getVideoId(), request.getWidth(), request.getHeight());
 
@@ -69,13 +79,17 @@ public class VideoResizeService {
         log.debug("[resizeVideo] Buscando vídeo no banco de dados...");
         VideoFile videoFile = videoFileFinderService.findById(request.getVideoId());
 
-        String inputFilePath = previousFilePath != null ? previousFilePath : videoFile.getVideoFilePath();
+        String inputFilePath = previousFilePath != null
+                ? previousFilePath
+                : videoSourceService.resolveSourcePath(videoFile, preview);
         log.debug("[resizeVideo] Caminho do vídeo de entrada: {}", inputFilePath);
 
         validateInputFileExists(inputFilePath);
 
         log.debug("[resizeVideo] Preparando caminho para o arquivo de saída...");
-        String outputFilePath = prepareOutputFile(videoFile.getVideoFileName());
+        String outputFilePath = outputFilePathOverride != null
+                ? outputFilePathOverride
+                : prepareOutputFile(videoFile.getVideoFileName());
 
         VideoResize resizeEntity = saveResizeEntity(videoFile, request);
 
@@ -84,13 +98,13 @@ public class VideoResizeService {
 
 
         try {
-            processResize(inputFilePath, outputFilePath, request);
+            processResize(inputFilePath, outputFilePath, request, preview);
 
             videoResizeMetrics.recordResizeDuration(timerSample); 
             videoResizeMetrics.decrementProcessingQueueSize(); 
 
-            videoStatusManagerService.updateEntityStatus(
-                    videoResizeRepository, resizeEntity.getId(), VideoStatusEnum.COMPLETED,
+            videoAuditWriterService.updateStatus(
+                    videoResizeRepository, resizeEntity, VideoStatusEnum.COMPLETED,
                     "VideoResizeService - Conclusão");
             videoResizeMetrics.incrementResizeSuccess();
 
@@ -98,16 +112,16 @@ public class VideoResizeService {
             videoResizeMetrics.recordResizeDuration(timerSample); 
             videoResizeMetrics.decrementProcessingQueueSize(); 
             videoResizeMetrics.incrementResizeFailure();
-            videoStatusManagerService.updateEntityStatus(
-                    videoResizeRepository, resizeEntity.getId(), VideoStatusEnum.ERROR,
+            videoAuditWriterService.updateStatus(
+                    videoResizeRepository, resizeEntity, VideoStatusEnum.ERROR,
                     "VideoResizeService - Processamento Falhou");
             throw e;
         } catch (Exception e) {
             videoResizeMetrics.recordResizeDuration(timerSample); 
             videoResizeMetrics.decrementProcessingQueueSize(); 
             videoResizeMetrics.incrementResizeFailure();
-            videoStatusManagerService.updateEntityStatus(
-                    videoResizeRepository, resizeEntity.getId(), VideoStatusEnum.ERROR,
+            videoAuditWriterService.updateStatus(
+                    videoResizeRepository, resizeEntity, VideoStatusEnum.ERROR,
                     "VideoResizeService - Erro Inesperado");
             throw new VideoProcessingException("Erro inesperado ao redimensionar vídeo.", e);
         }
@@ -119,8 +133,77 @@ public class VideoResizeService {
         return outputFilePath;
     }
 
+    public List<String> resizeVideoToRenditions(String videoId, List<VideoResizeRequest> requests,
+            String previousFilePath) {
+        return resizeVideoToRenditions(videoId, requests, previousFilePath, tempDir);
+    }
+
+    public List<String> resizeVideoToRenditions(String videoId, List<VideoResizeRequest> requests,
+            String previousFilePath, String outputDirectory) {
+        log.info("[resizeVideoToRenditions] Iniciando redimensionamento em múltiplas saídas | VideoId: {} | Saídas: {}",
+                videoId, requests.size());
+
+        for (VideoResizeRequest request : requests) {
+            videoResizeMetrics.incrementResizeRequests();
+            VideoResizeValidation.validate(request.getWidth(), request.getHeight());
+        }
+
+        VideoFile videoFile = videoFileFinderService.findById(videoId);
+        String inputFilePath = previousFilePath != null
+                ? previousFilePath
+                : videoSourceService.resolveSourcePath(videoFile);
+        validateInputFileExists(inputFilePath);
+
+        List<String> outputFilePaths = new ArrayList<>();
+        List<String> resolutions = new ArrayList<>();
+        List<VideoResize> resizeEntities = new ArrayList<>();
+        for (VideoResizeRequest request : requests) {
+            String resolution = request.getWidth() + "x" + request.getHeight();
+            resolutions.add(resolution);
+            outputFilePaths.add(prepareOutputFile(outputDirectory, videoFile.getVideoFileName(), "resize_" + resolution));
+            resizeEntities.add(saveResizeEntity(videoFile, request));
+        }
+
+        videoResizeMetrics.incrementProcessingQueueSize();
+        Timer.Sample timerSample = videoResizeMetrics.startResizeTimer();
+
+        boolean success;
+        try {
+            success = VideoProcessorUtils.resizeVideoToRenditions(inputFilePath, outputFilePaths, resolutions);
+        } finally {
+            videoResizeMetrics.recordResizeDuration(timerSample);
+            videoResizeMetrics.decrementProcessingQueueSize();
+        }
+
+        if (!success) {
+            resizeEntities.forEach(entity -> {
+                videoResizeMetrics.incrementResizeFailure();
+                videoAuditWriterService.updateStatus(
+                        videoResizeRepository, entity, VideoStatusEnum.ERROR,
+                        "VideoResizeService - Processamento Falhou (múltiplas saídas)");
+            });
+            outputFilePaths.forEach(this::deleteTemporaryFiles);
+            throw new VideoProcessingException("Erro ao redimensionar vídeo para múltiplas resoluções.");
+        }
+
+        resizeEntities.forEach(entity -> {
+            videoResizeMetrics.incrementResizeSuccess();
+            videoAuditWriterService.updateStatus(
+                    videoResizeRepository, entity, VideoStatusEnum.COMPLETED,
+                    "VideoResizeService - Conclusão (múltiplas saídas)");
+        });
+        videoResizeProducer.sendMessage(videoFile.getId().toString());
+
+        log.info("[resizeVideoToRenditions] Redimensionamento finalizado | Outputs: {}", outputFilePaths);
+        return outputFilePaths;
+    }
+
     private void validateInputFileExists(String filePath) {
         log.debug("[validateInputFileExists] Verificando existência do arquivo de entrada...");
+        if (VideoFileStorageUtils.isRemotePath(filePath)) {
+            log.debug("[validateInputFileExists] Entrada remota (S3); a existência é garantida pela chave persistida.");
+            return;
+        }
         File file = new File(filePath);
         if (!file.exists()) {
             log.error("[validateInputFileExists] Arquivo de entrada não encontrado: {}", filePath);
@@ -130,21 +213,26 @@ public class VideoResizeService {
     }
 
     private String prepareOutputFile(String originalFileName) {
+        return prepareOutputFile(tempDir, originalFileName, "resize");
+    }
+
+    private String prepareOutputFile(String outputDirectory, String originalFileName, String suffix) {
         log.debug("[prepareOutputFile] Criando diretório temporário se necessário...");
-        VideoFileStorageUtils.createDirectoryIfNotExists(tempDir);
+        VideoFileStorageUtils.createDirectoryIfNotExists(outputDirectory);
 
         String outputPath = VideoFileStorageUtils.buildFilePath(
-                tempDir, VideoFileNameGenerator.generateFileNameWithSuffix(originalFileName, "resize"));
+                outputDirectory, VideoFileNameGenerator.generateFileNameWithSuffix(originalFileName, suffix));
 
         log.debug("[prepareOutputFile] Caminho do arquivo de saída preparado: {}", outputPath);
         return outputPath;
     }
 
-    private void processResize(String inputFilePath, String outputFilePath, VideoResizeRequest request) {
+    private void processResize(String inputFilePath, String outputFilePath, VideoResizeRequest request,
+            boolean preview) {
         try {
             log.debug("[processResize] Chamando utilitário de redimensionamento...");
             boolean success = VideoProcessorUtils.resizeVideo(
-                    inputFilePath, outputFilePath, request.getWidth(), request.getHeight());
+                    inputFilePath, outputFilePath, request.getWidth(), request.getHeight(), preview);
 
             if (!success) {
                 log.error("[processResize] Redimensionamento falhou.");
@@ -173,7 +261,7 @@ public class VideoResizeService {
         resize.setStatus(VideoStatusEnum.PROCESSING);
         resize.setCreatedTimes(ZonedDateTime.now());
         resize.setUpdatedTimes(ZonedDateTime.now());
-        return videoResizeRepository.save(resize);
+        return videoAuditWriterService.record(videoResizeRepository, resize);
     }
 
     public void deleteTemporaryFiles(String filePath) {
@@ -1,10 +1,27 @@
 package com.l8group.videoeditor.services;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
@@ -12,12 +29,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+
 import com.l8group.videoeditor.s3.S3SignedUrlService;
 
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.model.*;
 
 @Service
@@ -36,15 +57,34 @@ public class VideoS3Service {
 
     public static final String RAW_VIDEO_FOLDER = "raw-videos/";
     public static final String PROCESSED_VIDEO_FOLDER = "processed-videos/";
+    public static final String HLS_FOLDER = PROCESSED_VIDEO_FOLDER + "hls/";
+    public static final String CHECKPOINT_FOLDER = "checkpoints/";
+
+    private final ExecutorService transferExecutor;
+
+    @Value("${aws.s3.multipart.part-size-mb:8}")
+    private int multipartPartSizeMb;
 
-    public VideoS3Service(S3SignedUrlService s3SignedUrlService) {
-        this.s3Client = S3Client.builder()
+    public VideoS3Service(S3SignedUrlService s3SignedUrlService,
+            @Value("${aws.s3.upload.concurrency:8}") int uploadConcurrency,
+            @Value("${aws.s3.endpoint:}") String endpoint) {
+        S3ClientBuilder builder = S3Client.builder()
                 .region(Region.US_EAST_1)
                 .credentialsProvider(ProfileCredentialsProvider.builder()
                 .profileName("editor-video-s3")
-                .build())
-            .build();
+                .build());
+        if (!endpoint.isBlank()) {
+            // Stand-ins locais do S3 (MinIO, LocalStack) só respondem em path-style.
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        this.s3Client = builder.build();
         this.s3SignedUrlService = s3SignedUrlService;
+        this.transferExecutor = Executors.newFixedThreadPool(Math.max(1, uploadConcurrency));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferExecutor.shutdown();
     }
 
     public String uploadRawFile(File file, String fileName, UUID videoId) throws IOException {
@@ -54,6 +94,114 @@ public class VideoS3Service {
         return uploadToS3(file, s3Key, RAW_VIDEO_FOLDER);
     }
 
+    /**
+     * Igual a {@link #uploadRawFile}, mas devolve a chave completa do objeto no bucket, para que ela possa ser
+     * persistida e usada depois como origem de leitura.
+     */
+    public String uploadRawObject(File file, String fileName, UUID videoId) throws IOException {
+        logger.info("Iniciando o upload do arquivo raw para o S3. Vídeo ID: {}, Nome do Arquivo: {}", videoId, fileName);
+        String s3Key = generateVersionedFileName(fileName, RAW_VIDEO_FOLDER);
+        uploadToS3(file, s3Key, RAW_VIDEO_FOLDER);
+        return RAW_VIDEO_FOLDER + s3Key;
+    }
+
+    /**
+     * Guarda a saída de uma etapa de lote em {@code checkpoints/<lote>/} e devolve a chave completa.
+     */
+    public String uploadCheckpoint(File file, UUID batchId, String fileName) throws IOException {
+        String s3Key = batchId + "/" + fileName;
+        uploadToS3(file, s3Key, CHECKPOINT_FOLDER);
+        return CHECKPOINT_FOLDER + s3Key;
+    }
+
+    public void deleteObjects(List<String> fullKeys) {
+        if (fullKeys.isEmpty()) {
+            return;
+        }
+        try {
+            s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(fullKeys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .build())
+                    .build());
+            logger.info("{} objeto(s) removido(s) do S3.", fullKeys.size());
+        } catch (S3Exception e) {
+            logger.warn("Erro ao remover objetos do S3 {}: {}", fullKeys, e.getMessage());
+        }
+    }
+
+    /**
+     * Baixa um objeto do bucket com GETs por faixa de bytes em paralelo, cada faixa gravada na sua posição do
+     * arquivo de destino.
+     */
+    public long downloadToFile(String fullKey, Path target) throws IOException {
+        long objectSize = s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fullKey)
+                .build()).contentLength();
+        long rangeSize = Math.max(5, multipartPartSizeMb) * 1024L * 1024L;
+        logger.info("Baixando objeto do S3 em faixas paralelas: {} ({} bytes)", fullKey, objectSize);
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<CompletableFuture<Void>> ranges = new ArrayList<>();
+            for (long start = 0; start < objectSize; start += rangeSize) {
+                long rangeStart = start;
+                long rangeEnd = Math.min(start + rangeSize, objectSize) - 1;
+                ranges.add(CompletableFuture.runAsync(() -> {
+                    byte[] bytes = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(fullKey)
+                            .range("bytes=" + rangeStart + "-" + rangeEnd)
+                            .build()).asByteArray();
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                        long position = rangeStart;
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, transferExecutor));
+            }
+            CompletableFuture.allOf(ranges.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException | S3Exception e) {
+            logger.error("Erro ao baixar objeto do S3: {}", fullKey, e);
+            throw new IOException("Falha ao baixar o arquivo do S3.", e.getCause() != null ? e.getCause() : e);
+        }
+        return objectSize;
+    }
+
+    /**
+     * Abre o objeto para leitura em streaming (download pelo cliente); quem chama fecha o stream.
+     */
+    public ResponseInputStream<GetObjectResponse> openObject(String fullKey) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fullKey)
+                .build());
+    }
+
+    /**
+     * Lê um objeto pequeno inteiro para a memória (ex.: playlists HLS).
+     */
+    public byte[] readObject(String fullKey) {
+        return s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fullKey)
+                .build()).asByteArray();
+    }
+
+    /**
+     * URL pré-assinada usada como entrada do FFmpeg. O demuxer HTTP do FFmpeg faz Range requests ao buscar,
+     * então só os trechos necessários do objeto são baixados.
+     */
+    public String generateSourceUrl(String fullKey, Duration expiration) {
+        return s3SignedUrlService.generateSignedUrl(bucketName, fullKey, expiration);
+    }
+
     public String uploadProcessedFile(File file, String fileName, UUID videoId) throws IOException {
         logger.info("Iniciando o upload do arquivo processado para o S3. Vídeo ID: {}, Nome do Arquivo: {}", videoId, fileName);
         String s3Key = generateVersionedFileName(fileName, PROCESSED_VIDEO_FOLDER);
@@ -61,6 +209,128 @@ public class VideoS3Service {
         return uploadToS3(file, s3Key, PROCESSED_VIDEO_FOLDER);
     }
 
+    /**
+     * Consome o stream em partes de tamanho fixo e envia cada parte assim que ela enche (multipart upload),
+     * permitindo que o upload aconteça enquanto o FFmpeg ainda está gravando. O fim do stream só indica que o
+     * FFmpeg fechou a saída, inclusive quando falhou ou foi encerrado; por isso, depois dele, o upload espera
+     * {@code commitDecision}, que bloqueia até o job decidir. Só com {@code true} (FFmpeg saiu com código 0) o
+     * objeto é concluído; caso contrário o multipart é abortado e nenhum objeto truncado fica visível no bucket.
+     */
+    public String uploadProcessedStream(InputStream inputStream, String fileName, UUID videoId,
+            BooleanSupplier commitDecision) throws IOException {
+        logger.info("Iniciando upload em streaming para o S3. Vídeo ID: {}, Nome do Arquivo: {}", videoId, fileName);
+        String s3Key = generateVersionedFileName(fileName, PROCESSED_VIDEO_FOLDER);
+        String fullKey = PROCESSED_VIDEO_FOLDER + s3Key;
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(fullKey)
+                .contentType(getContentType(s3Key))
+                .contentDisposition("inline")
+                .build()).uploadId();
+
+        List<CompletedPart> completedParts = new ArrayList<>();
+        byte[] buffer = new byte[Math.max(5, multipartPartSizeMb) * 1024 * 1024];
+        long totalBytes = 0;
+
+        try {
+            int partNumber = 1;
+            int read;
+            while ((read = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+                UploadPartResponse partResponse = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fullKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build(), RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read));
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(partResponse.eTag()).build());
+                totalBytes += read;
+                logger.debug("Parte {} enviada ({} bytes) para: {}", partNumber, read, fullKey);
+                partNumber++;
+            }
+
+            if (completedParts.isEmpty()) {
+                throw new IOException("Upload em streaming sem dados para: " + fullKey);
+            }
+            if (!commitDecision.getAsBoolean()) {
+                throw new IOException("Upload em streaming abortado pelo job: " + fullKey);
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fullKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            logger.info("Upload em streaming concluído: {} ({} bytes em {} partes)", fullKey, totalBytes,
+                    completedParts.size());
+
+            return s3SignedUrlService.generateSignedUrl(bucketName, fullKey, Duration.ofMinutes(signedUrlExpirationMinutes));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Erro no upload em streaming para o S3. Abortando multipart: {}", fullKey, e);
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fullKey)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (S3Exception abortException) {
+                logger.warn("Falha ao abortar multipart upload {}: {}", uploadId, abortException.getMessage());
+            }
+            if (e instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Falha ao enviar o arquivo em streaming para o S3.", e);
+        }
+    }
+
+    /**
+     * Envia todos os arquivos de um diretório HLS em paralelo. As playlists são enviadas somente depois
+     * dos segmentos, para que nunca referenciem um segmento ainda inexistente no bucket.
+     */
+    public String uploadHlsDirectory(Path directory, String packageName, String entryPlaylist, UUID videoId)
+            throws IOException {
+        String folder = HLS_FOLDER + packageName + "/";
+        logger.info("Iniciando o upload do pacote HLS para o S3. Vídeo ID: {}, Pasta: {}", videoId, folder);
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        List<Path> segments = files.stream().filter(file -> !file.toString().endsWith(".m3u8")).toList();
+        List<Path> playlists = files.stream().filter(file -> file.toString().endsWith(".m3u8")).toList();
+
+        uploadConcurrently(directory, segments, folder);
+        uploadConcurrently(directory, playlists, folder);
+
+        logger.info("Pacote HLS enviado com sucesso: {} arquivos em {}", files.size(), folder);
+        return s3SignedUrlService.generateSignedUrl(bucketName, folder + entryPlaylist,
+                Duration.ofMinutes(signedUrlExpirationMinutes));
+    }
+
+    private void uploadConcurrently(Path baseDirectory, List<Path> files, String folder) throws IOException {
+        List<CompletableFuture<Void>> uploads = new ArrayList<>();
+        for (Path file : files) {
+            String relativeKey = baseDirectory.relativize(file).toString().replace(File.separatorChar, '/');
+            uploads.add(CompletableFuture.runAsync(() -> {
+                try {
+                    uploadToS3(file.toFile(), relativeKey, folder);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, transferExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            logger.error("Erro no upload concorrente para o S3. Pasta: {}", folder, e);
+            throw new IOException("Falha ao enviar os arquivos HLS para o S3.", e.getCause());
+        }
+    }
+
     private String generateVersionedFileName(String baseFileName, String folder) {
         String nameWithoutExtension = FilenameUtils.removeExtension(baseFileName);
         String extension = FilenameUtils.getExtension(baseFileName);
@@ -76,6 +346,22 @@ public class VideoS3Service {
         return versionedFileName;
     }
 
+    /**
+     * Confere se o objeto referenciado por uma URL do bucket (assinada ou não, virtual-hosted ou path-style)
+     * ainda existe.
+     */
+    public boolean objectExistsAtUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return false;
+        }
+        String path = URI.create(url.split("\\?")[0]).getPath();
+        String key = path.startsWith("/") ? path.substring(1) : path;
+        if (key.startsWith(bucketName + "/")) {
+            key = key.substring(bucketName.length() + 1);
+        }
+        return fileExists(key);
+    }
+
     private boolean fileExists(String fullKey) {
         try {
             logger.debug("Verificando existência do arquivo no S3: {}", fullKey);
@@ -128,6 +414,8 @@ public class VideoS3Service {
         if (filename.endsWith(".mp4")) return "video/mp4";
         if (filename.endsWith(".avi")) return "video/avi";
         if (filename.endsWith(".mov")) return "video/quicktime";
+        if (filename.endsWith(".m3u8")) return "application/vnd.apple.mpegurl";
+        if (filename.endsWith(".m4s")) return "video/iso.segment";
         return "application/octet-stream";
     }
 }
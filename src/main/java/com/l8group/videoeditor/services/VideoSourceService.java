@@ -0,0 +1,125 @@
+package com.l8group.videoeditor.services;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.models.VideoFile;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolve de onde o FFmpeg deve ler o vídeo original: do cache local em {@code video.upload.dir} (baixando do
+ * S3 em caso de ausência) ou, com o cache desligado, da cópia local ou de uma URL pré-assinada de raw-videos/.
+ * Quando o vídeo já tem a versão mezzanine normalizada na ingestão, é ela que os jobs leem; lotes em modo de
+ * pré-visualização leem o proxy de baixa resolução, se existir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoSourceService {
+
+    private final VideoS3Service videoS3Service;
+    private final VideoMediaCacheService videoMediaCacheService;
+    private final VideoStorageVolumeService videoStorageVolumeService;
+
+    @Value("${video.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${video.source.read-from-s3:true}")
+    private boolean readFromS3;
+
+    @Value("${video.source.url-expiration-minutes:180}")
+    private long sourceUrlExpirationMinutes;
+
+    @Value("${video.mezzanine.prefer:true}")
+    private boolean preferMezzanine;
+
+    /**
+     * Resolve a origem e, com o cache ligado, fixa o arquivo local até {@link #release(VideoFile)}.
+     */
+    public String acquire(VideoFile videoFile) {
+        return acquire(videoFile, false);
+    }
+
+    public String acquire(VideoFile videoFile, boolean preview) {
+        return cacheEnabled
+                ? videoMediaCacheService.acquire(sourceFileName(videoFile, preview), sourceS3Key(videoFile, preview))
+                : resolveSourcePath(videoFile, preview);
+    }
+
+    public void release(VideoFile videoFile) {
+        release(videoFile, false);
+    }
+
+    public void release(VideoFile videoFile, boolean preview) {
+        if (cacheEnabled) {
+            videoMediaCacheService.release(sourceFileName(videoFile, preview));
+        }
+    }
+
+    /**
+     * Indica se o caminho resolvido é a versão mezzanine (GOP curto e fechado, CFR), que permite cortes por
+     * cópia de stream.
+     */
+    public boolean isMezzanine(VideoFile videoFile, String sourcePath) {
+        return videoFile.getMezzanineFileName() != null && sourcePath != null
+                && sourcePath.contains(videoFile.getMezzanineFileName());
+    }
+
+    public String resolveSourcePath(VideoFile videoFile) {
+        return resolveSourcePath(videoFile, false);
+    }
+
+    public String resolveSourcePath(VideoFile videoFile, boolean preview) {
+        String fileName = sourceFileName(videoFile, preview);
+        String s3Key = sourceS3Key(videoFile, preview);
+        if (cacheEnabled) {
+            return videoMediaCacheService.fetch(fileName, s3Key);
+        }
+
+        Optional<Path> localCopy = videoStorageVolumeService.locateUpload(fileName);
+        if (localCopy.isPresent()) {
+            String localPath = localCopy.get().toString();
+            log.debug("[resolveSourcePath] Usando cópia local do vídeo {}: {}", videoFile.getId(), localPath);
+            return localPath;
+        }
+
+        if (readFromS3 && s3Key != null) {
+            log.info("[resolveSourcePath] Cópia local ausente; lendo o vídeo {} direto do S3: {}",
+                    videoFile.getId(), s3Key);
+            return videoS3Service.generateSourceUrl(s3Key, Duration.ofMinutes(sourceUrlExpirationMinutes));
+        }
+
+        log.error("[resolveSourcePath] Vídeo {} sem cópia local e sem objeto no S3. Esperado em: {}",
+                videoFile.getId(), videoStorageVolumeService.placeUpload(fileName));
+        throw new VideoProcessingException("Arquivo de vídeo não encontrado.");
+    }
+
+    private boolean useMezzanine(VideoFile videoFile) {
+        return preferMezzanine && videoFile.getMezzanineS3Key() != null;
+    }
+
+    private boolean useProxy(VideoFile videoFile, boolean preview) {
+        return preview && videoFile.getProxyS3Key() != null;
+    }
+
+    private String sourceFileName(VideoFile videoFile, boolean preview) {
+        if (useProxy(videoFile, preview)) {
+            return videoFile.getProxyFileName();
+        }
+        return useMezzanine(videoFile) ? videoFile.getMezzanineFileName() : videoFile.getVideoFileName();
+    }
+
+    private String sourceS3Key(VideoFile videoFile, boolean preview) {
+        if (useProxy(videoFile, preview)) {
+            return videoFile.getProxyS3Key();
+        }
+        return useMezzanine(videoFile) ? videoFile.getMezzanineS3Key() : videoFile.getVideoS3Key();
+    }
+}
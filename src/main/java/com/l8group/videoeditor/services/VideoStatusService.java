@@ -1,74 +1,124 @@
 package com.l8group.videoeditor.services;
 
 import java.time.ZonedDateTime;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.models.StatusTrackable;
+import com.l8group.videoeditor.repositories.StatusTrackingRepository;
+import com.l8group.videoeditor.repositories.VideoFileRepository;
 
-import jakarta.transaction.Transactional;
-
+/**
+ * Transições de status das entidades rastreadas. Cada transição é um único UPDATE condicional, guardado pelo
+ * estado de origem esperado: por padrão {@link #ACTIVE_STATUSES}, de modo que COMPLETED e os status terminais não
+ * mudam mais e uma gravação atrasada (falha, prazo, retentativa) não sobrescreve um lote já concluído. O UPDATE em massa invalida a região do cache de segundo nível da entidade;
+ * vídeos alterados também saem do escopo de busca do job ({@link VideoFileFinderService}).
+ */
 @Service
 public class VideoStatusService {
 
     private static final Logger logger = LoggerFactory.getLogger(VideoStatusService.class);
 
+    /**
+     * Status de onde uma transição pode partir; os demais (COMPLETED, FAILED_PERMANENTLY, CANCELLED, TIMED_OUT)
+     * são finais.
+     */
+    public static final Set<VideoStatusEnum> ACTIVE_STATUSES = EnumSet.of(VideoStatusEnum.PROCESSING,
+            VideoStatusEnum.ERROR);
+
     @Value("${video.retry.max-attempts}")
     private int maxRetries;
 
-    public VideoStatusService() {
+    private final VideoFileFinderService videoFileFinderService;
+
+    public VideoStatusService(VideoFileFinderService videoFileFinderService) {
+        this.videoFileFinderService = videoFileFinderService;
     }
 
-    @Transactional
-    public <T> void updateEntityStatus(JpaRepository<T, UUID> repository, UUID entityId, VideoStatusEnum status, String errorSource) {
-        try {
-            Optional<T> entityOptional = repository.findById(entityId);
+    public <T extends StatusTrackable> void updateEntityStatus(StatusTrackingRepository<T> repository, UUID entityId,
+            VideoStatusEnum status, String errorSource) {
+        int updated = updateEntitiesStatus(repository, List.of(entityId), status, errorSource);
+        if (updated == 0) {
+            logger.warn("Entidade {} não encontrada ou já em status final; status {} ignorado. Origem: {}",
+                    entityId, status, errorSource);
+        }
+    }
 
-            if (entityOptional.isPresent()) {
-                T entity = entityOptional.get();
+    /**
+     * Aplica em memória a mesma transição dos UPDATEs condicionais, para entidades ainda não gravadas (ver
+     * {@link VideoAuditWriterService}).
+     */
+    public void applyEntityStatus(StatusTrackable entity, VideoStatusEnum status, String errorSource) {
+        if (!ACTIVE_STATUSES.contains(entity.getStatus())) {
+            logger.warn("Entidade {} já em status final; status {} ignorado. Origem: {}", entity.getId(), status,
+                    errorSource);
+            return;
+        }
+        switch (status) {
+            case ERROR -> {
+                entity.setRetryCount(entity.getRetryCount() + 1);
+                entity.setStatus(entity.getRetryCount() >= maxRetries
+                        ? VideoStatusEnum.FAILED_PERMANENTLY
+                        : VideoStatusEnum.ERROR);
+            }
+            case COMPLETED -> {
+                entity.setStatus(status);
+                entity.setRetryCount(0);
+            }
+            default -> entity.setStatus(status);
+        }
+        entity.setUpdatedTimes(ZonedDateTime.now());
+        logger.debug("Status da entidade {} definido para {} antes da gravação. Origem: {}", entity.getId(),
+                entity.getStatus(), errorSource);
+    }
 
-                if (status == VideoStatusEnum.ERROR) {
-                    try {
-                        int currentRetryCount = (int) entity.getClass().getMethod("getRetryCount").invoke(entity);
-                        currentRetryCount++;
-                        entity.getClass().getMethod("setRetryCount", int.class).invoke(entity, currentRetryCount);
+    /**
+     * Variante em lote: aplica a mesma transição a todos os IDs num único UPDATE.
+     *
+     * @return quantidade de entidades atualizadas
+     */
+    public <T extends StatusTrackable> int updateEntitiesStatus(StatusTrackingRepository<T> repository,
+            Collection<UUID> entityIds, VideoStatusEnum status, String errorSource) {
+        return updateEntitiesStatus(repository, entityIds, status, ACTIVE_STATUSES, errorSource);
+    }
 
-                        if (currentRetryCount >= maxRetries) {
-                            entity.getClass().getMethod("setStatus", VideoStatusEnum.class).invoke(entity, VideoStatusEnum.FAILED_PERMANENTLY);
-                            entity.getClass().getMethod("setUpdatedTimes", ZonedDateTime.class).invoke(entity, ZonedDateTime.now());
-                            repository.save(entity);
-                            logger.warn("Entidade {} atingiu o limite de {} tentativas e foi marcada como FAILED_PERMANENTLY. Origem: {}", entityId, maxRetries, errorSource);
-                        } else {
-                            entity.getClass().getMethod("setStatus", VideoStatusEnum.class).invoke(entity, status);
-                            entity.getClass().getMethod("setUpdatedTimes", ZonedDateTime.class).invoke(entity, ZonedDateTime.now());
-                            repository.save(entity);
-                            logger.info("Status da entidade {} atualizado para {}. Origem: {}. Tentativa: {}", entityId, status, errorSource, currentRetryCount);
-                        }
-                    } catch (NoSuchMethodException | IllegalAccessException | java.lang.reflect.InvocationTargetException e) {
-                        logger.error("A entidade não possui os métodos getRetryCount, setRetryCount, setStatus ou setUpdatedTimes: {}", e.getMessage());
-                    }
-                } else if (status == VideoStatusEnum.COMPLETED) {
-                    try {
-                        entity.getClass().getMethod("setStatus", VideoStatusEnum.class).invoke(entity, status);
-                        entity.getClass().getMethod("setUpdatedTimes", ZonedDateTime.class).invoke(entity, ZonedDateTime.now());
-                        entity.getClass().getMethod("setRetryCount", int.class).invoke(entity, 0); // Reset retryCount
-                        repository.save(entity);
-                        logger.info("Status da entidade {} atualizado para {}. Origem: {}", entityId, status, errorSource);
-                    } catch (NoSuchMethodException | IllegalAccessException | java.lang.reflect.InvocationTargetException e) {
-                        logger.error("A entidade não possui os métodos setStatus, setUpdatedTimes ou setRetryCount: {}", e.getMessage());
-                    }
-                }
-            } else {
-                logger.error("Entidade {} não encontrada para atualizar o status. Origem: {}", entityId, errorSource);
+    /**
+     * Variante com os estados de origem explícitos: só as entidades em um de {@code expectedStatuses} mudam.
+     *
+     * @return quantidade de entidades atualizadas
+     */
+    public <T extends StatusTrackable> int updateEntitiesStatus(StatusTrackingRepository<T> repository,
+            Collection<UUID> entityIds, VideoStatusEnum status, Set<VideoStatusEnum> expectedStatuses,
+            String errorSource) {
+        if (entityIds.isEmpty()) {
+            return 0;
+        }
+        ZonedDateTime now = ZonedDateTime.now();
+        try {
+            int updated = switch (status) {
+                case ERROR -> repository.failStatus(entityIds, VideoStatusEnum.ERROR,
+                        VideoStatusEnum.FAILED_PERMANENTLY, maxRetries, now, expectedStatuses);
+                case COMPLETED -> repository.completeStatus(entityIds, status, now, expectedStatuses);
+                default -> repository.transitionStatus(entityIds, status, now, expectedStatuses);
+            };
+            if (repository instanceof VideoFileRepository) {
+                videoFileFinderService.evict(entityIds);
             }
+            logger.info("Status de {} entidade(s) atualizado para {}. Origem: {}", updated, status, errorSource);
+            return updated;
         } catch (Exception e) {
-            logger.error("Erro ao atualizar o status da entidade {}: {}. Origem: {}", entityId, e.getMessage(), errorSource);
+            logger.error("Erro ao atualizar o status das entidades {}: {}. Origem: {}", entityIds, e.getMessage(),
+                    errorSource);
+            return 0;
         }
     }
-}
\ No newline at end of file
+}
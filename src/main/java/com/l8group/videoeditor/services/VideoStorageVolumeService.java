@@ -0,0 +1,154 @@
+package com.l8group.videoeditor.services;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.metrics.VideoStorageMetrics;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distribui o armazenamento local entre vários volumes. Originais são colocados por hash do nome do arquivo,
+ * então qualquer componente acha o arquivo sem índice; workspaces de jobs vão para o volume temporário menos
+ * carregado, evitando o dispositivo de onde o job lê o original.
+ */
+@Slf4j
+@Service
+public class VideoStorageVolumeService {
+
+    private final VideoStorageMetrics metrics;
+    private final List<Volume> uploadVolumes;
+    private final List<Volume> tempVolumes;
+
+    public static class Volume {
+        private final Path root;
+        private final AtomicInteger activeJobs = new AtomicInteger();
+        private FileStore fileStore;
+
+        private Volume(Path root) {
+            this.root = root;
+        }
+
+        public Path getRoot() {
+            return root;
+        }
+
+        public long getUsableSpace() {
+            return root.toFile().getUsableSpace();
+        }
+    }
+
+    public VideoStorageVolumeService(VideoStorageMetrics metrics,
+            @Value("${video.storage.upload-dirs:${video.upload.dir}}") List<String> uploadDirs,
+            @Value("${video.storage.temp-dirs:${video.temp.dir}}") List<String> tempDirs) {
+        this.metrics = metrics;
+        this.uploadVolumes = uploadDirs.stream().map(String::trim).map(dir -> new Volume(Paths.get(dir))).toList();
+        this.tempVolumes = tempDirs.stream().map(String::trim).map(dir -> new Volume(Paths.get(dir))).toList();
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Volume volume : uploadVolumes) {
+            initVolume(volume, "upload");
+        }
+        for (Volume volume : tempVolumes) {
+            initVolume(volume, "temp");
+        }
+        log.info("[init] Volumes de armazenamento | Upload: {} | Temporários: {}",
+                uploadVolumes.stream().map(Volume::getRoot).toList(),
+                tempVolumes.stream().map(Volume::getRoot).toList());
+    }
+
+    public List<Volume> getUploadVolumes() {
+        return uploadVolumes;
+    }
+
+    public List<Volume> getTempVolumes() {
+        return tempVolumes;
+    }
+
+    /**
+     * Volume de upload de um arquivo, escolhido pelo hash do nome.
+     */
+    public Path placeUpload(String fileName) {
+        int index = Math.floorMod(fileName.hashCode(), uploadVolumes.size());
+        return uploadVolumes.get(index).getRoot().resolve(fileName);
+    }
+
+    /**
+     * Caminho local de um original. Procura primeiro no volume do hash e depois nos demais, para achar arquivos
+     * gravados antes de a lista de volumes mudar.
+     */
+    public Optional<Path> locateUpload(String fileName) {
+        Path placed = placeUpload(fileName);
+        if (Files.exists(placed)) {
+            return Optional.of(placed);
+        }
+        return uploadVolumes.stream()
+                .map(volume -> volume.getRoot().resolve(fileName))
+                .filter(Files::exists)
+                .findFirst();
+    }
+
+    /**
+     * Reserva o volume temporário com menos jobs ativos (desempate por espaço livre), preferindo um dispositivo
+     * diferente do que guarda o original do job.
+     */
+    public Volume acquireTempVolume(String sourcePath) {
+        FileStore sourceStore = fileStoreOf(sourcePath);
+        Comparator<Volume> leastLoaded = Comparator.<Volume>comparingInt(volume -> volume.activeJobs.get())
+                .thenComparing(Comparator.comparingLong(Volume::getUsableSpace).reversed());
+
+        Volume selected = tempVolumes.stream()
+                .filter(volume -> sourceStore == null || !sourceStore.equals(volume.fileStore))
+                .min(leastLoaded)
+                .orElseGet(() -> tempVolumes.stream().min(leastLoaded).orElseThrow());
+        selected.activeJobs.incrementAndGet();
+        return selected;
+    }
+
+    public void releaseTempVolume(Volume volume, long bytesWritten) {
+        if (volume == null) {
+            return;
+        }
+        volume.activeJobs.decrementAndGet();
+        metrics.recordBytesWritten(volume.getRoot().toString(), bytesWritten);
+    }
+
+    public void recordUploadBytesWritten(Path file, long bytes) {
+        uploadVolumes.stream()
+                .filter(volume -> file.startsWith(volume.getRoot()))
+                .findFirst()
+                .ifPresent(volume -> metrics.recordBytesWritten(volume.getRoot().toString(), bytes));
+    }
+
+    private void initVolume(Volume volume, String role) {
+        VideoFileStorageUtils.createDirectoryIfNotExists(volume.getRoot().toString());
+        volume.fileStore = fileStoreOf(volume.getRoot().toString());
+        metrics.registerVolume(volume.getRoot().toString(), role, volume::getUsableSpace,
+                volume.activeJobs::get);
+    }
+
+    private FileStore fileStoreOf(String path) {
+        if (path == null || VideoFileStorageUtils.isRemotePath(path)) {
+            return null;
+        }
+        try {
+            return Files.getFileStore(Paths.get(path));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
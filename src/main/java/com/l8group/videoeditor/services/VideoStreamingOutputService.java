@@ -0,0 +1,206 @@
+package com.l8group.videoeditor.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Upload em streaming da saída do FFmpeg: o encoder grava num pipe (FIFO) dentro do workspace do job e uma
+ * thread envia as partes ao S3 enquanto o encode roda. O número de uploads simultâneos é limitado; sem vaga, o
+ * job usa o upload do arquivo final.
+ */
+@Slf4j
+@Service
+public class VideoStreamingOutputService {
+
+    private static final long CANCEL_TIMEOUT_SECONDS = 30;
+    private static final long DECISION_TIMEOUT_MINUTES = 30;
+
+    private final VideoS3Service s3Service;
+    private final Semaphore uploadSlots;
+    private final ThreadPoolExecutor uploadExecutor;
+
+    public VideoStreamingOutputService(VideoS3Service s3Service,
+            @Value("${video.streaming.max-uploads:8}") int maxUploads) {
+        this.s3Service = s3Service;
+        int slots = Math.max(1, maxUploads);
+        this.uploadSlots = new Semaphore(slots);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Cada upload ocupa uma thread e cada cancelamento pode ocupar outra para liberar o pipe.
+        this.uploadExecutor = new ThreadPoolExecutor(0, slots * 2, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "video-stream-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Abre o upload em streaming de {@code fileName} com um pipe de nome único no workspace do job. Vazio quando
+     * todas as vagas de upload em streaming estão ocupadas.
+     */
+    public Optional<StreamingUpload> open(VideoTempWorkspaceService.JobWorkspace workspace, String fileName,
+            UUID videoId) {
+        if (!uploadSlots.tryAcquire()) {
+            log.warn("[open] Limite de uploads em streaming atingido; usando upload do arquivo final | Vídeo ID: {}",
+                    videoId);
+            return Optional.empty();
+        }
+        Path pipePath = Paths.get(workspace.newFile("stream-" + UUID.randomUUID() + "-" + fileName));
+        StreamingUpload upload = new StreamingUpload(pipePath, fileName);
+        try {
+            createNamedPipe(pipePath);
+            upload.future = CompletableFuture.supplyAsync(() -> {
+                try (InputStream inputStream = Files.newInputStream(pipePath)) {
+                    return s3Service.uploadProcessedStream(inputStream, fileName, videoId, upload::awaitDecision);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, uploadExecutor);
+        } catch (RuntimeException e) {
+            uploadSlots.release();
+            VideoFileStorageUtils.deleteFileIfExists(pipePath.toFile());
+            if (e instanceof RejectedExecutionException) {
+                throw new VideoProcessingException("Não foi possível iniciar o upload em streaming.", e);
+            }
+            throw e;
+        }
+        upload.future.whenComplete((url, error) -> uploadSlots.release());
+
+        log.info("[open] Upload em streaming aberto | Vídeo ID: {} | Pipe: {}", videoId, pipePath);
+        return Optional.of(upload);
+    }
+
+    /**
+     * Confirma o upload. Só deve ser chamado depois de o FFmpeg sair com código 0; o objeto é concluído no S3 e
+     * a URL devolvida.
+     */
+    public String complete(StreamingUpload upload) throws IOException {
+        upload.decision.complete(true);
+        try {
+            return upload.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Falha no upload em streaming.", cause);
+        } finally {
+            VideoFileStorageUtils.deleteFileIfExists(upload.pipePath.toFile());
+        }
+    }
+
+    /**
+     * Aborta o upload quando o encoder falha ou o job é encerrado: nenhuma parte já enviada vira objeto. Se o
+     * FFmpeg nunca abriu o pipe, o leitor continua bloqueado no open(); abrir e fechar a ponta de escrita entrega
+     * EOF e libera a thread de upload, que então recebe a decisão de abortar.
+     */
+    public void cancel(StreamingUpload upload) {
+        upload.decision.complete(false);
+        if (!upload.future.isDone()) {
+            try {
+                CompletableFuture<Void> unblock = CompletableFuture.runAsync(() -> {
+                    try (OutputStream ignored = Files.newOutputStream(upload.pipePath)) {
+                        log.debug("[cancel] Ponta de escrita do pipe aberta para liberar o leitor: {}",
+                                upload.pipePath);
+                    } catch (IOException e) {
+                        log.warn("[cancel] Falha ao liberar o pipe {}: {}", upload.pipePath, e.getMessage());
+                    }
+                }, uploadExecutor);
+                unblock.get(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                upload.future.get(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                log.error("[cancel] Tempo esgotado ao cancelar upload em streaming: {}", upload.pipePath);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.debug("[cancel] Upload em streaming encerrado com falha esperada: {}", e.getMessage());
+            }
+        }
+        VideoFileStorageUtils.deleteFileIfExists(upload.pipePath.toFile());
+    }
+
+    private void createNamedPipe(Path pipePath) {
+        try {
+            Process process = new ProcessBuilder("mkfifo", pipePath.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                throw new VideoProcessingException("Não foi possível criar o pipe de saída: " + pipePath);
+            }
+        } catch (IOException e) {
+            throw new VideoProcessingException("Não foi possível criar o pipe de saída: " + pipePath, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VideoProcessingException("Criação do pipe de saída interrompida.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    public static class StreamingUpload {
+        private final Path pipePath;
+        private final String fileName;
+        private final CompletableFuture<Boolean> decision = new CompletableFuture<>();
+        private CompletableFuture<String> future;
+
+        private StreamingUpload(Path pipePath, String fileName) {
+            this.pipePath = pipePath;
+            this.fileName = fileName;
+        }
+
+        public String getPipePath() {
+            return pipePath.toString();
+        }
+
+        /**
+         * Nome do arquivo final no S3; o pipe tem um nome próprio, único por job.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Bloqueia a thread de upload até o job confirmar ou abortar; sem decisão no prazo, aborta.
+         */
+        private boolean awaitDecision() {
+            try {
+                return decision.get(DECISION_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            } catch (TimeoutException | ExecutionException e) {
+                log.error("[awaitDecision] Upload em streaming sem confirmação do job; abortando: {}", pipePath);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.l8group.videoeditor.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.l8group.videoeditor.exceptions.InsufficientStorageException;
+import com.l8group.videoeditor.exceptions.VideoProcessingException;
+import com.l8group.videoeditor.utils.VideoFileStorageUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diretórios temporários por job. Cada job grava seus intermediários no próprio diretório, com cota de disco,
+ * e o diretório inteiro é removido ao final, com sucesso ou falha. Jobs cujo original é pequeno usam o tier em
+ * RAM (tmpfs), quando configurado; os demais vão para o volume temporário escolhido pelo
+ * {@link VideoStorageVolumeService}. Um zelador periódico remove o que processos mortos deixaram para trás.
+ */
+@Slf4j
+@Service
+public class VideoTempWorkspaceService {
+
+    private static final String JOBS_DIR = "jobs";
+
+    private final VideoStorageVolumeService videoStorageVolumeService;
+
+    @Value("${video.workspace.ram-dir:}")
+    private String ramDir;
+
+    @Value("${video.workspace.ram-max-source-bytes:268435456}")
+    private long ramMaxSourceBytes;
+
+    @Value("${video.workspace.job-quota-bytes:53687091200}")
+    private long jobQuotaBytes;
+
+    @Value("${video.workspace.min-free-bytes:10737418240}")
+    private long minFreeBytes;
+
+    @Value("${video.workspace.orphan-ttl-minutes:120}")
+    private long orphanTtlMinutes;
+
+    @Value("${video.workspace.janitor-interval-minutes:10}")
+    private long janitorIntervalMinutes;
+
+    private final Set<Path> activeWorkspaces = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService janitor = Executors.newSingleThreadScheduledExecutor();
+
+    public VideoTempWorkspaceService(VideoStorageVolumeService videoStorageVolumeService) {
+        this.videoStorageVolumeService = videoStorageVolumeService;
+    }
+
+    public static class JobWorkspace {
+        private final Path directory;
+        private final VideoStorageVolumeService.Volume volume;
+
+        private JobWorkspace(Path directory, VideoStorageVolumeService.Volume volume) {
+            this.directory = directory;
+            this.volume = volume;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public String newFile(String fileName) {
+            return directory.resolve(fileName).toString();
+        }
+
+        public boolean contains(String filePath) {
+            return filePath != null && !VideoFileStorageUtils.isRemotePath(filePath)
+                    && Paths.get(filePath).startsWith(directory);
+        }
+    }
+
+    @PostConstruct
+    public void startJanitor() {
+        janitor.scheduleWithFixedDelay(this::cleanOrphans, 0, janitorIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        janitor.shutdownNow();
+    }
+
+    /**
+     * Abre o diretório de um job. Recusa o trabalho quando o volume temporário está abaixo do espaço livre
+     * mínimo, em vez de deixar o encode encher o disco no meio do caminho.
+     */
+    public JobWorkspace open(String jobName, long sourceSizeBytes, String sourcePath) {
+        VideoStorageVolumeService.Volume volume = null;
+        Path baseDirectory = ramTier(sourceSizeBytes);
+        if (baseDirectory == null) {
+            volume = videoStorageVolumeService.acquireTempVolume(sourcePath);
+            baseDirectory = volume.getRoot().resolve(JOBS_DIR);
+        }
+        VideoFileStorageUtils.createDirectoryIfNotExists(baseDirectory.toString());
+
+        long usableBytes = baseDirectory.toFile().getUsableSpace();
+        if (usableBytes < minFreeBytes) {
+            videoStorageVolumeService.releaseTempVolume(volume, 0);
+            log.error("[open] Espaço livre insuficiente em {}: {} bytes (mínimo {} bytes)",
+                    baseDirectory, usableBytes, minFreeBytes);
+            throw new InsufficientStorageException(
+                    "Servidor sem espaço em disco temporário no momento. Tente novamente mais tarde.");
+        }
+
+        Path directory = baseDirectory.resolve(jobName + "-" + UUID.randomUUID());
+        VideoFileStorageUtils.createDirectoryIfNotExists(directory.toString());
+        activeWorkspaces.add(directory);
+        log.info("[open] Workspace do job criado: {}", directory);
+        return new JobWorkspace(directory, volume);
+    }
+
+    public void enforceQuota(JobWorkspace workspace) {
+        long usedBytes = VideoFileStorageUtils.directorySize(workspace.getDirectory());
+        if (usedBytes > jobQuotaBytes) {
+            log.error("[enforceQuota] Workspace {} excedeu a cota: {} bytes (cota {} bytes)",
+                    workspace.getDirectory(), usedBytes, jobQuotaBytes);
+            throw new VideoProcessingException("O processamento excedeu a cota de disco temporário do job.");
+        }
+    }
+
+    public void close(JobWorkspace workspace) {
+        if (workspace == null) {
+            return;
+        }
+        long bytesWritten = VideoFileStorageUtils.directorySize(workspace.getDirectory());
+        VideoFileStorageUtils.deleteDirectoryIfExists(workspace.getDirectory());
+        activeWorkspaces.remove(workspace.getDirectory());
+        videoStorageVolumeService.releaseTempVolume(workspace.volume, bytesWritten);
+    }
+
+    private Path ramTier(long sourceSizeBytes) {
+        if (!ramDir.isBlank() && sourceSizeBytes > 0 && sourceSizeBytes <= ramMaxSourceBytes) {
+            Path ramJobs = Paths.get(ramDir, JOBS_DIR);
+            File ramRoot = Paths.get(ramDir).toFile();
+            // Intermediários costumam ser do tamanho do original; exige folga para alguns deles na RAM.
+            if (ramRoot.exists() && ramRoot.getUsableSpace() > sourceSizeBytes * 3) {
+                return ramJobs;
+            }
+        }
+        return null;
+    }
+
+    private void cleanOrphans() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(orphanTtlMinutes);
+        for (VideoStorageVolumeService.Volume volume : videoStorageVolumeService.getTempVolumes()) {
+            cleanDirectory(volume.getRoot().resolve(JOBS_DIR), cutoff);
+            cleanDirectory(volume.getRoot(), cutoff);
+        }
+        if (!ramDir.isBlank()) {
+            cleanDirectory(Paths.get(ramDir, JOBS_DIR), cutoff);
+        }
+    }
+
+    private void cleanDirectory(Path directory, long cutoff) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            children.filter(path -> !activeWorkspaces.contains(path))
+                    .filter(path -> !path.getFileName().toString().equals(JOBS_DIR))
+                    .filter(path -> path.toFile().lastModified() < cutoff)
+                    .forEach(path -> {
+                        log.warn("[cleanOrphans] Removendo arquivo temporário órfão: {}", path);
+                        if (Files.isDirectory(path)) {
+                            VideoFileStorageUtils.deleteDirectoryIfExists(path);
+                        } else {
+                            VideoFileStorageUtils.deleteFileIfExists(path.toFile());
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            log.warn("[cleanOrphans] Falha ao limpar {}: {}", directory, e.getMessage());
+        }
+    }
+}
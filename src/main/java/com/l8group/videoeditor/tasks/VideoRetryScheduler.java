@@ -2,21 +2,53 @@ package com.l8group.videoeditor.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.l8group.videoeditor.config.SchedulerRole;
 import com.l8group.videoeditor.enums.VideoStatusEnum;
+import com.l8group.videoeditor.models.RetryableWork;
+import com.l8group.videoeditor.models.VideoDownload;
 import com.l8group.videoeditor.models.VideoFile;
+import com.l8group.videoeditor.models.VideoProcessingBatch;
+import com.l8group.videoeditor.repositories.RetryableRepository;
+import com.l8group.videoeditor.repositories.VideoBatchRepository;
+import com.l8group.videoeditor.repositories.VideoDownloadRepository;
 import com.l8group.videoeditor.repositories.VideoFileRepository;
+import com.l8group.videoeditor.services.VideoBatchService;
 import com.l8group.videoeditor.services.VideoS3Service;
 import com.l8group.videoeditor.services.VideoStatusService;
 
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Retentativas periódicas de vídeos, lotes e downloads em ERROR. Cada nó reivindica páginas de itens vencidos
+ * com SKIP LOCKED e grava o arrendamento ({@code nextAttemptAt}) na mesma transação curta, então dois nós nunca
+ * pegam o mesmo item. Os itens reivindicados rodam em paralelo num pool limitado e cada um confirma o próprio
+ * resultado; uma falha reagenda o item com backoff exponencial. Cada execução só reivindica o que cabe nas vagas
+ * livres do pool e não espera os itens terminarem: uma retomada de lote leva o tempo de um encode e não pode
+ * prender a thread de agendamento. Lotes presos em PROCESSING com o arrendamento
+ * vencido (o nó que os rodava caiu) são reivindicados do mesmo jeito e retomados pelo diário de etapas
+ * ({@link com.l8group.videoeditor.services.VideoBatchJournalService}).
+ */
+@SchedulerRole
 @Component
 public class VideoRetryScheduler {
 
@@ -25,72 +57,242 @@ public class VideoRetryScheduler {
     @Value("${video.retry.max-attempts}")
     private int maxRetries;
 
+    @Value("${video.retry.page-size:50}")
+    private int pageSize;
+
+    @Value("${video.retry.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+
+    @Value("${video.retry.lease-ms:600000}")
+    private long leaseMs;
+
+    @Value("${video.retry.backoff-base-ms:60000}")
+    private long backoffBaseMs;
+
+    @Value("${video.retry.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
     private final VideoFileRepository videoFileRepository;
+    private final VideoBatchRepository videoBatchRepository;
+    private final VideoDownloadRepository videoDownloadRepository;
     private final VideoS3Service s3Service;
+    private final VideoBatchService videoBatchService;
     private final VideoStatusService videoStatusManagerService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService retryExecutor;
+    private final Semaphore retrySlots;
+    private volatile Instant lastCompletedRun;
 
-    public VideoRetryScheduler(VideoFileRepository videoFileRepository, VideoS3Service s3Service,
-                               VideoStatusService videoStatusManagerService) {
+    private enum Outcome {
+        SUCCEEDED, FAILED, SKIPPED
+    }
+
+    public VideoRetryScheduler(VideoFileRepository videoFileRepository, VideoBatchRepository videoBatchRepository,
+                               VideoDownloadRepository videoDownloadRepository, VideoS3Service s3Service,
+                               VideoBatchService videoBatchService, VideoStatusService videoStatusManagerService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${video.retry.parallelism:4}") int parallelism) {
         this.videoFileRepository = videoFileRepository;
+        this.videoBatchRepository = videoBatchRepository;
+        this.videoDownloadRepository = videoDownloadRepository;
         this.s3Service = s3Service;
+        this.videoBatchService = videoBatchService;
         this.videoStatusManagerService = videoStatusManagerService;
+        this.transactionTemplate = transactionTemplate;
+        this.retryExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        this.retrySlots = new Semaphore(Math.max(1, parallelism));
     }
 
-    @Scheduled(fixedRateString = "${video.retry.interval-ms}")
-    @Transactional
-    public void retryFailedUploads() {
-        List<VideoFile> failedVideos = videoFileRepository.findByStatus(VideoStatusEnum.ERROR);
+    @PreDestroy
+    public void shutdown() {
+        retryExecutor.shutdown();
+    }
 
-        if (failedVideos.isEmpty()) {
-            logger.info("Nenhum vídeo com status ERROR encontrado para reprocessamento.");
-            return;
-        }
+    @Scheduled(fixedDelayString = "${video.retry.interval-ms}")
+    public void retryFailedWork() {
+        drain("VideoFile", videoFileRepository, lockFailed(videoFileRepository), this::retryVideoFile);
+        drain("VideoProcessingBatch", videoBatchRepository, lockFailed(videoBatchRepository), this::retryBatch);
+        drain("VideoProcessingBatch (parado)", videoBatchRepository,
+                (now, limit) -> videoBatchRepository.lockStalled(VideoStatusEnum.PROCESSING, now, limit),
+                this::resumeBatch);
+        drain("VideoDownload", videoDownloadRepository, lockFailed(videoDownloadRepository), this::retryDownload);
+        lastCompletedRun = Instant.now();
+    }
 
-        logger.info("Iniciando reprocessamento de {} vídeos com falha.", failedVideos.size());
+    /**
+     * Fim da última execução completa; {@code null} até a primeira terminar. Base do health do papel scheduler.
+     */
+    public Instant getLastCompletedRun() {
+        return lastCompletedRun;
+    }
 
-        for (VideoFile video : failedVideos) {
+    private <T extends RetryableWork> void drain(String kind, RetryableRepository<T> repository,
+            BiFunction<ZonedDateTime, Limit, List<T>> locker, Function<T, Outcome> attempt) {
+        int claimedTotal = 0;
+        for (int page = 0; page < maxPagesPerRun; page++) {
+            // Só esta thread reserva vagas; as tarefas apenas as devolvem, então a reserva nunca bloqueia.
+            int slots = Math.min(pageSize, retrySlots.availablePermits());
+            if (slots == 0) {
+                logger.debug("Pool de reprocessamento ocupado; {} fica para a próxima execução.", kind);
+                break;
+            }
+            retrySlots.acquireUninterruptibly(slots);
+            List<T> claimed;
             try {
-                int currentRetryCount = video.getRetryCount(); 
-
-                if (currentRetryCount >= maxRetries) {
-                    videoStatusManagerService.updateEntityStatus(videoFileRepository, video.getId(), VideoStatusEnum.FAILED_PERMANENTLY, "RetryScheduler");
-                    logger.warn("Vídeo {} atingiu o limite de {} tentativas e foi marcado como FAILED_PERMANENTLY.", video.getId(), maxRetries);
-                    continue;
-                }
-
-                File file = new File(video.getVideoFilePath());
-                if (!file.exists() || !file.isFile()) {
-                    logger.warn("Arquivo do vídeo {} não encontrado em '{}'. Pulando reprocessamento.", video.getId(), video.getVideoFilePath());
-                    continue;
-                }
-
-                String s3Url;
-                if (video.getVideoFilePath().contains("raw-videos")) {
-                    s3Url = s3Service.uploadRawFile(file, video.getVideoFileName(), video.getId());
-                } else if (video.getVideoFilePath().contains("processed-videos")) {
-                    s3Url = s3Service.uploadProcessedFile(file, video.getVideoFileName(), video.getId());
-                } else {
-                    logger.error("Caminho do arquivo inválido para vídeo {}: {}", video.getId(), video.getVideoFilePath());
-                    continue;
-                }
-
-                video.setVideoFilePath(s3Url);
-                video.setRetryCount(0);
-                videoFileRepository.save(video);
-
-                videoStatusManagerService.updateEntityStatus(videoFileRepository, video.getId(), VideoStatusEnum.COMPLETED, "RetryScheduler");
-
-                logger.info("Vídeo {} reenviado com sucesso para S3.", video.getId());
-
-            } catch (IOException e) {
-                videoStatusManagerService.updateEntityStatus(videoFileRepository, video.getId(), VideoStatusEnum.ERROR, "RetryScheduler");
-                logger.error("Erro ao reenviar vídeo {}: {}. Tentativa {}/{}", video.getId(), e.getMessage(), video.getRetryCount(), maxRetries);
-            } catch (Exception e) {
-                videoStatusManagerService.updateEntityStatus(videoFileRepository, video.getId(), VideoStatusEnum.ERROR, "RetryScheduler");
-                logger.error("Erro inesperado ao reprocessar vídeo {}: {}", video.getId(), e.getMessage());
+                claimed = claim(repository, locker, slots);
+            } catch (RuntimeException e) {
+                retrySlots.release(slots);
+                throw e;
+            }
+            if (claimed.isEmpty()) {
+                retrySlots.release(slots);
+                break;
+            }
+            claimedTotal += claimed.size();
+
+            List<UUID> exhaustedIds = claimed.stream()
+                    .filter(item -> item.getRetryCount() >= maxRetries)
+                    .map(RetryableWork::getId)
+                    .toList();
+            if (!exhaustedIds.isEmpty()) {
+                videoStatusManagerService.updateEntitiesStatus(repository, exhaustedIds,
+                        VideoStatusEnum.FAILED_PERMANENTLY, "RetryScheduler");
+                logger.warn("{} {}(s) atingiram o limite de {} tentativas e foram marcados como FAILED_PERMANENTLY.",
+                        exhaustedIds.size(), kind, maxRetries);
+            }
+
+            List<T> pending = claimed.stream()
+                    .filter(item -> item.getRetryCount() < maxRetries)
+                    .toList();
+            retrySlots.release(slots - pending.size());
+            pending.forEach(item -> CompletableFuture
+                    .runAsync(() -> retryItem(kind, repository, item, attempt), retryExecutor)
+                    .whenComplete((ignored, error) -> {
+                        retrySlots.release();
+                        if (error != null) {
+                            logger.error("Erro ao registrar o reprocessamento de {} {}: {}", kind, item.getId(),
+                                    error.getMessage());
+                        }
+                    }));
+
+            if (claimed.size() < slots) {
+                break;
+            }
+        }
+
+        if (claimedTotal == 0) {
+            logger.debug("Nenhum {} vencido para reprocessamento.", kind);
+        } else {
+            logger.info("Reprocessamento de {}: {} item(ns) reivindicado(s).", kind, claimedTotal);
+        }
+    }
+
+    /**
+     * Transação curta: bloqueia a página com SKIP LOCKED e grava o arrendamento antes de soltar os bloqueios.
+     */
+    private <T extends RetryableWork> List<T> claim(RetryableRepository<T> repository,
+            BiFunction<ZonedDateTime, Limit, List<T>> locker, int limit) {
+        return transactionTemplate.execute(status -> {
+            ZonedDateTime now = ZonedDateTime.now();
+            List<T> due = locker.apply(now, Limit.of(limit));
+            if (!due.isEmpty()) {
+                repository.scheduleNextAttempt(due.stream().map(RetryableWork::getId).toList(),
+                        now.plus(Duration.ofMillis(leaseMs)));
             }
+            return due;
+        });
+    }
+
+    private <T extends RetryableWork> BiFunction<ZonedDateTime, Limit, List<T>> lockFailed(
+            RetryableRepository<T> repository) {
+        return (now, limit) -> repository.lockDue(VideoStatusEnum.ERROR, now, limit);
+    }
+
+    private <T extends RetryableWork> void retryItem(String kind, RetryableRepository<T> repository, T item,
+            Function<T, Outcome> attempt) {
+        Outcome outcome;
+        try {
+            outcome = attempt.apply(item);
+        } catch (Exception e) {
+            logger.error("Erro inesperado ao reprocessar {} {}: {}", kind, item.getId(), e.getMessage());
+            outcome = Outcome.FAILED;
         }
 
-        logger.info("Reprocessamento finalizado.");
+        switch (outcome) {
+            case SUCCEEDED -> {
+                videoStatusManagerService.updateEntityStatus(repository, item.getId(), VideoStatusEnum.COMPLETED,
+                        "RetryScheduler");
+                logger.info("{} {} reprocessado com sucesso.", kind, item.getId());
+            }
+            case FAILED -> {
+                videoStatusManagerService.updateEntityStatus(repository, item.getId(), VideoStatusEnum.ERROR,
+                        "RetryScheduler");
+                Duration backoff = backoff(item.getRetryCount() + 1);
+                repository.scheduleNextAttempt(List.of(item.getId()), ZonedDateTime.now().plus(backoff));
+                logger.warn("{} {} falhou na tentativa {}/{}; próxima tentativa em {}s.", kind, item.getId(),
+                        item.getRetryCount() + 1, maxRetries, backoff.toSeconds());
+            }
+            case SKIPPED -> {
+                // Sem alteração: o item volta a ser avaliado quando o arrendamento expirar.
+            }
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        long factor = 1L << Math.min(Math.max(attempt - 1, 0), 20);
+        return Duration.ofMillis(Math.min(backoffMaxMs, backoffBaseMs * factor));
+    }
+
+    private Outcome retryVideoFile(VideoFile video) {
+        File file = new File(video.getVideoFilePath());
+        if (!file.exists() || !file.isFile()) {
+            logger.warn("Arquivo do vídeo {} não encontrado em '{}'. Pulando reprocessamento.", video.getId(), video.getVideoFilePath());
+            return Outcome.SKIPPED;
+        }
+
+        try {
+            String s3Url;
+            if (video.getVideoFilePath().contains("raw-videos")) {
+                s3Url = s3Service.uploadRawFile(file, video.getVideoFileName(), video.getId());
+            } else if (video.getVideoFilePath().contains("processed-videos")) {
+                s3Url = s3Service.uploadProcessedFile(file, video.getVideoFileName(), video.getId());
+            } else {
+                logger.error("Caminho do arquivo inválido para vídeo {}: {}", video.getId(), video.getVideoFilePath());
+                return Outcome.SKIPPED;
+            }
+
+            video.setVideoFilePath(s3Url);
+            videoFileRepository.save(video);
+            return Outcome.SUCCEEDED;
+        } catch (IOException e) {
+            logger.error("Erro ao reenviar vídeo {}: {}", video.getId(), e.getMessage());
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Um lote em ERROR cuja saída chegou ao S3 (a falha foi depois do upload) é dado como concluído; sem a saída,
+     * é retomado pelo diário quando houver um, e sem diário o item esgota as tentativas.
+     */
+    private Outcome retryBatch(VideoProcessingBatch batch) {
+        return s3Service.objectExistsAtUrl(batch.getS3Url()) ? Outcome.SUCCEEDED : resumeBatch(batch);
+    }
+
+    private Outcome resumeBatch(VideoProcessingBatch batch) {
+        if (batch.getRequestPayload() == null) {
+            logger.warn("Lote {} sem diário de etapas; não há como retomá-lo.", batch.getId());
+            return Outcome.FAILED;
+        }
+        try {
+            videoBatchService.resumeBatch(batch);
+            return Outcome.SUCCEEDED;
+        } catch (Exception e) {
+            logger.error("Erro ao retomar o lote {}: {}", batch.getId(), e.getMessage());
+            return Outcome.FAILED;
+        }
+    }
+
+    private Outcome retryDownload(VideoDownload download) {
+        return s3Service.objectExistsAtUrl(download.getS3Url()) ? Outcome.SUCCEEDED : Outcome.FAILED;
     }
 }
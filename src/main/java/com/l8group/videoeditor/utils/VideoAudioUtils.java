@@ -3,6 +3,7 @@ package com.l8group.videoeditor.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 public class VideoAudioUtils {
@@ -10,6 +11,11 @@ public class VideoAudioUtils {
     private static final int PROCESS_TIMEOUT_SECONDS = 15;
 
     public static boolean hasAudioTrack(String filePath) throws IOException {
+        Optional<VideoMp4MetadataParser.ContainerMetadata> metadata = VideoMp4MetadataParser.parse(filePath);
+        if (metadata.isPresent()) {
+            return metadata.get().hasAudio();
+        }
+
         String[] command = {
             "ffprobe", "-v", "error", "-select_streams", "a",
             "-show_entries", "stream=codec_type", "-of",
@@ -30,7 +36,7 @@ public class VideoAudioUtils {
         }
 
         String[] command = {
-            "ffmpeg", "-i", filePath, "-ss", String.valueOf(start), "-t", String.valueOf(end - start),
+            "ffmpeg", "-ss", String.valueOf(start), "-i", filePath, "-t", String.valueOf(end - start),
             "-af", "silencedetect=n=-30dB:d=1", "-f", "null", "-"
         };
 
@@ -3,60 +3,61 @@ package com.l8group.videoeditor.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import com.l8group.videoeditor.models.VideoFile;
 
 public class VideoDurationUtils {
 
-    private static final String DEFAULT_DURATION = "00:00:00";
+    private static final long FFPROBE_TIMEOUT_SECONDS = 15;
 
     public static String getVideoDurationAsString(String filePath) throws IOException {
-        String duration = runFFmpegDurationCommand(filePath);
-        return normalizeDurationFormat(duration);
+        Optional<VideoMp4MetadataParser.ContainerMetadata> metadata = VideoMp4MetadataParser.parse(filePath);
+        // MP4 fragmentado grava duração zero no mvhd; nesse caso a duração real só vem do ffprobe.
+        if (metadata.isPresent() && metadata.get().durationMicros() > 0) {
+            return formatSecondsToTime((int) (metadata.get().durationMicros() / 1_000_000L));
+        }
+        return runFFprobeDurationCommand(filePath);
     }
 
     public static int getVideoDurationInSeconds(VideoFile videoFile) throws IOException {
-
-        String durationString = getVideoDurationAsString(videoFile.getVideoFilePath());
+        // A duração já é gravada no upload; só sonda o arquivo quando ela não estiver disponível.
+        String durationString = videoFile.getVideoDuration() != null
+                ? videoFile.getVideoDuration()
+                : getVideoDurationAsString(videoFile.getVideoFilePath());
         return convertTimeToSeconds(durationString);
     }
 
-    private static String runFFmpegDurationCommand(String filePath) throws IOException {
-        ProcessBuilder processBuilder = new ProcessBuilder("ffmpeg", "-i", filePath);
+    private static String runFFprobeDurationCommand(String filePath) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder("ffprobe", "-v", "error", "-show_entries",
+                "format=duration", "-of", "default=noprint_wrappers=1:nokey=1", filePath);
         processBuilder.redirectErrorStream(true);
         Process process = processBuilder.start();
 
+        String output;
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.contains("Duration:")) {
-                    return extractDuration(line);
-                }
-            }
+            output = reader.readLine();
         }
-
-        throw new IOException("Não foi possível obter a duração do vídeo.");
-    }
-
-    private static String extractDuration(String line) {
-        String[] parts = line.split(",");
-        for (String part : parts) {
-            if (part.trim().startsWith("Duration:")) {
-                return part.replace("Duration:", "").trim().split(" ")[0]; // Pega apenas "HH:mm:ss"
+        try {
+            if (!process.waitFor(FFPROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("Tempo esgotado ao obter a duração do vídeo.");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Leitura da duração do vídeo interrompida.", e);
         }
-        return DEFAULT_DURATION;
-    }
 
-    private static String normalizeDurationFormat(String duration) {
-        String[] timeParts = duration.trim().split(":");
-        if (timeParts.length == 3) {
-            int hours = Integer.parseInt(timeParts[0].trim());
-            int minutes = Integer.parseInt(timeParts[1].trim());
-            int seconds = (int) Math.floor(Double.parseDouble(timeParts[2].trim()));
-            return String.format("%02d:%02d:%02d", hours, minutes, seconds);
+        try {
+            if (process.exitValue() == 0 && output != null) {
+                double seconds = Double.parseDouble(output.trim());
+                return formatSecondsToTime((int) Math.floor(seconds));
+            }
+        } catch (NumberFormatException e) {
+            // ffprobe devolve "N/A" quando o contêiner não informa a duração.
         }
-        return DEFAULT_DURATION;
+        throw new IOException("Não foi possível obter a duração do vídeo.");
     }
 
     public static int convertTimeToSeconds(String time) {
@@ -0,0 +1,151 @@
+package com.l8group.videoeditor.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processos do FFmpeg em execução nesta JVM, cada um marcado com o job da thread que o iniciou
+ * ({@link #bindJob(UUID)}). Serve ao drain, que encerra todos os encodes restantes quando o prazo vence, e ao
+ * cancelamento e aos prazos por job, que encerram apenas os do job. Encerrar um processo derruba a árvore
+ * inteira (o overlay roda o FFmpeg sob um {@code bash -c}). Depois de {@link #abortAll()}, ou de
+ * {@link #abortJob(UUID)} para o próprio job, nenhum novo encode é iniciado.
+ */
+public class VideoFFmpegProcessRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoFFmpegProcessRegistry.class);
+
+    private static final Map<Process, Registration> RUNNING = new ConcurrentHashMap<>();
+    private static final Set<UUID> ABORTED_JOBS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<UUID> CURRENT_JOB = new ThreadLocal<>();
+    private static volatile boolean aborted;
+
+    public record RunningEncode(long pid, Instant startedAt, long elapsedMs) {
+    }
+
+    /**
+     * Resultado de um encerramento: processos encerrados e o tempo de CPU que eles já tinham consumido.
+     */
+    public record KilledEncodes(int processes, double cpuSeconds) {
+    }
+
+    private record Registration(Instant startedAt, UUID jobId) {
+    }
+
+    private VideoFFmpegProcessRegistry() {
+    }
+
+    public static boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Indica se o job vinculado à thread atual foi encerrado (cancelamento ou prazo).
+     */
+    public static boolean isCurrentJobAborted() {
+        UUID jobId = CURRENT_JOB.get();
+        return jobId != null && ABORTED_JOBS.contains(jobId);
+    }
+
+    /**
+     * Marca os encodes iniciados por esta thread como pertencentes ao job, até {@link #unbindJob()}.
+     */
+    public static void bindJob(UUID jobId) {
+        CURRENT_JOB.set(jobId);
+    }
+
+    public static void unbindJob() {
+        UUID jobId = CURRENT_JOB.get();
+        if (jobId != null) {
+            ABORTED_JOBS.remove(jobId);
+        }
+        CURRENT_JOB.remove();
+    }
+
+    public static void register(Process process) {
+        UUID jobId = CURRENT_JOB.get();
+        RUNNING.put(process, new Registration(Instant.now(), jobId));
+        if (aborted || (jobId != null && ABORTED_JOBS.contains(jobId))) {
+            destroyTree(process);
+        }
+    }
+
+    public static void unregister(Process process) {
+        RUNNING.remove(process);
+    }
+
+    public static List<RunningEncode> snapshot() {
+        Instant now = Instant.now();
+        return RUNNING.entrySet().stream()
+                .map(entry -> new RunningEncode(entry.getKey().pid(), entry.getValue().startedAt(),
+                        Duration.between(entry.getValue().startedAt(), now).toMillis()))
+                .sorted(Comparator.comparing(RunningEncode::startedAt))
+                .toList();
+    }
+
+    /**
+     * Encerra os encodes em andamento (SIGTERM, SIGKILL se não saírem em poucos segundos) e recusa os próximos.
+     *
+     * @return quantidade de processos encerrados
+     */
+    public static int abortAll() {
+        aborted = true;
+        List<Process> processes = List.copyOf(RUNNING.keySet());
+        kill(processes);
+        if (!processes.isEmpty()) {
+            logger.warn("{} processo(s) do FFmpeg encerrado(s) pelo drain.", processes.size());
+        }
+        return processes.size();
+    }
+
+    /**
+     * Encerra os encodes do job e recusa os próximos que ele tentar iniciar.
+     */
+    public static KilledEncodes abortJob(UUID jobId) {
+        ABORTED_JOBS.add(jobId);
+        List<Process> processes = RUNNING.entrySet().stream()
+                .filter(entry -> jobId.equals(entry.getValue().jobId()))
+                .map(Map.Entry::getKey)
+                .toList();
+        return kill(processes);
+    }
+
+    private static KilledEncodes kill(List<Process> processes) {
+        // A árvore é lida antes: morto o pai, os filhos são adotados pelo init e somem de descendants().
+        List<ProcessHandle> handles = processes.stream()
+                .flatMap(process -> Stream.concat(Stream.of(process.toHandle()), process.descendants()))
+                .toList();
+        double cpuSeconds = handles.stream()
+                .mapToLong(handle -> handle.info().totalCpuDuration().map(Duration::toMillis).orElse(0L))
+                .sum() / 1000.0;
+        handles.forEach(ProcessHandle::destroy);
+        for (ProcessHandle handle : handles) {
+            try {
+                handle.onExit().get(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handle.destroyForcibly();
+            } catch (ExecutionException | TimeoutException e) {
+                handle.destroyForcibly();
+            }
+        }
+        return new KilledEncodes(processes.size(), cpuSeconds);
+    }
+
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+}
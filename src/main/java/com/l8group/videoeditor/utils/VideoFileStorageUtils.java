@@ -2,12 +2,15 @@ package com.l8group.videoeditor.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,7 +54,7 @@ public class VideoFileStorageUtils {
      * @param path
      * @return
      */
-    private static boolean isRemotePath(String path) {
+    public static boolean isRemotePath(String path) {
         return path.startsWith("http://") || path.startsWith("https://");
     }
 
@@ -64,7 +67,9 @@ public class VideoFileStorageUtils {
             URI uri = URI.create(urlString);
             URL url = uri.toURL();
             HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("HEAD");
+            // URLs pré-assinadas do S3 valem só para GET; um Range de 1 byte evita baixar o objeto.
+            connection.setRequestMethod("GET");
+            connection.setRequestProperty("Range", "bytes=0-0");
             connection.setConnectTimeout(5000);
             connection.setReadTimeout(5000);
             int responseCode = connection.getResponseCode();
@@ -115,6 +120,53 @@ public class VideoFileStorageUtils {
         }
     }
 
+    /**
+     * @param path
+     * @return true quando o caminho existe e não é arquivo regular nem diretório (FIFO criado por mkfifo)
+     */
+    public static boolean isNamedPipe(String path) {
+        if (path == null || isRemotePath(path)) {
+            return false;
+        }
+        Path candidate = Path.of(path);
+        return Files.exists(candidate) && !Files.isRegularFile(candidate) && !Files.isDirectory(candidate);
+    }
+
+    /**
+     * @param directory
+     */
+    public static void deleteDirectoryIfExists(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+            log.info("Diretório temporário removido: {}", directory);
+        } catch (IOException e) {
+            log.warn("Falha ao remover diretório temporário {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * @param directory
+     * @return soma do tamanho dos arquivos regulares abaixo do diretório
+     */
+    public static long directorySize(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return 0;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            return walk.filter(Files::isRegularFile)
+                    .mapToLong(path -> path.toFile().length())
+                    .sum();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao medir diretório {}: {}", directory, e.getMessage());
+            return 0;
+        }
+    }
+
     public static String buildFilePath(String directory, String fileName) {
         if (!directory.endsWith(File.separator)) {
             directory += File.separator;
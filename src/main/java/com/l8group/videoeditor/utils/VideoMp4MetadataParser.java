@@ -0,0 +1,307 @@
+package com.l8group.videoeditor.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Leitor de metadados de MP4/MOV (ISO-BMFF) sem subprocessos. Percorre a árvore de caixas só com leituras
+ * posicionais dos cabeçalhos e carrega para a memória apenas as caixas folha que interessam
+ * (mvhd/tkhd/mdhd/hdlr/stsd/stts/stss), cada uma no seu próprio buffer; as demais tabelas do {@code moov} (stsz,
+ * stco, ctts...), que são a maior parte dele, nunca são lidas. Uma tabela stts/stss acima de
+ * {@value #MAX_TABLE_BYTES} bytes devolve vazio.
+ * Devolve vazio para arquivos remotos, outros contêineres (AVI, MKV...) ou MP4 fragmentado sem moov completo;
+ * nesses casos o chamador deve usar o ffprobe.
+ */
+public class VideoMp4MetadataParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoMp4MetadataParser.class);
+
+    private static final int MAX_TABLE_BYTES = 8 * 1024 * 1024;
+    // Maiores caixas de cabeçalho lidas por inteiro: tkhd v1 (92 bytes) e mvhd/mdhd v1.
+    private static final int MAX_HEADER_BOX_BYTES = 128;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    public record ContainerMetadata(long durationMicros, List<TrackMetadata> tracks) {
+
+        public Optional<TrackMetadata> firstTrack(String handlerType) {
+            return tracks.stream().filter(track -> handlerType.equals(track.handlerType())).findFirst();
+        }
+
+        public boolean hasAudio() {
+            return firstTrack("soun").isPresent();
+        }
+    }
+
+    /**
+     * @param keyframeTimesMicros instantes de decodificação dos quadros-chave; vazio quando a trilha não tem
+     *                            stss, o que no formato significa que todas as amostras são quadros-chave
+     */
+    public record TrackMetadata(int trackId, String handlerType, String codec, int width, int height,
+            long durationMicros, long[] keyframeTimesMicros) {
+    }
+
+    public static Optional<ContainerMetadata> parse(String filePath) {
+        if (filePath == null || VideoFileStorageUtils.isRemotePath(filePath)) {
+            return Optional.empty();
+        }
+        Path path = Path.of(filePath);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BoxHeader moov = findMoov(channel);
+            if (moov == null) {
+                return Optional.empty();
+            }
+            return Optional.of(parseMoov(channel, moov));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Falha ao ler metadados ISO-BMFF de {}: {}", filePath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Cabeçalho de uma caixa: tipo e intervalo do conteúdo no arquivo, [{@code payloadStart}, {@code end}).
+     */
+    private record BoxHeader(String type, long payloadStart, long end) {
+
+        long payloadSize() {
+            return end - payloadStart;
+        }
+    }
+
+    private static BoxHeader findMoov(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        boolean first = true;
+        for (BoxHeader box = readHeader(channel, 0, fileSize); box != null;
+                box = readHeader(channel, box.end(), fileSize)) {
+            if (first && !box.type().equals("ftyp") && !box.type().equals("moov") && !box.type().equals("wide")
+                    && !box.type().equals("mdat") && !box.type().equals("free") && !box.type().equals("skip")) {
+                return null;
+            }
+            first = false;
+            if (box.type().equals("moov")) {
+                return box;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lê o cabeçalho da caixa em {@code position}; nulo no fim do pai ou se a caixa não couber nele.
+     */
+    private static BoxHeader readHeader(FileChannel channel, long position, long parentEnd) throws IOException {
+        if (position + 8 > parentEnd) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate((int) Math.min(16, parentEnd - position));
+        readFully(channel, header, position);
+        header.flip();
+        long size = Integer.toUnsignedLong(header.getInt());
+        String type = fourCc(header);
+        int headerSize = 8;
+        if (size == 1) {
+            if (header.remaining() < 8) {
+                return null;
+            }
+            size = header.getLong();
+            headerSize = 16;
+        } else if (size == 0) {
+            size = parentEnd - position;
+        }
+        if (size < headerSize || position + size > parentEnd) {
+            return null;
+        }
+        return new BoxHeader(type, position + headerSize, position + size);
+    }
+
+    /**
+     * Carrega o conteúdo da caixa, até {@code maxBytes}; nulo quando ele é maior que o limite.
+     */
+    private static ByteBuffer readPayload(FileChannel channel, BoxHeader box, int maxBytes, boolean truncate)
+            throws IOException {
+        long size = box.payloadSize();
+        if (size > maxBytes && !truncate) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate((int) Math.min(size, maxBytes));
+        readFully(channel, payload, box.payloadStart());
+        payload.flip();
+        return payload;
+    }
+
+    private static ContainerMetadata parseMoov(FileChannel channel, BoxHeader moov) throws IOException {
+        long durationMicros = 0;
+        List<TrackMetadata> tracks = new ArrayList<>();
+
+        for (BoxHeader child = readHeader(channel, moov.payloadStart(), moov.end()); child != null;
+                child = readHeader(channel, child.end(), moov.end())) {
+            if (child.type().equals("mvhd")) {
+                ByteBuffer box = readPayload(channel, child, MAX_HEADER_BOX_BYTES, true);
+                int version = Byte.toUnsignedInt(box.get());
+                box.position(box.position() + 3 + (version == 1 ? 16 : 8));
+                long timescale = Integer.toUnsignedLong(box.getInt());
+                long duration = version == 1 ? box.getLong() : Integer.toUnsignedLong(box.getInt());
+                durationMicros = toMicros(duration, timescale);
+            } else if (child.type().equals("trak")) {
+                tracks.add(parseTrak(channel, child));
+            }
+        }
+        return new ContainerMetadata(durationMicros, tracks);
+    }
+
+    private static TrackMetadata parseTrak(FileChannel channel, BoxHeader trak) throws IOException {
+        int trackId = 0;
+        int width = 0;
+        int height = 0;
+        TrackMedia media = new TrackMedia();
+
+        for (BoxHeader child = readHeader(channel, trak.payloadStart(), trak.end()); child != null;
+                child = readHeader(channel, child.end(), trak.end())) {
+            if (child.type().equals("tkhd")) {
+                ByteBuffer box = readPayload(channel, child, MAX_HEADER_BOX_BYTES, true);
+                int version = Byte.toUnsignedInt(box.get());
+                box.position(box.position() + 3 + (version == 1 ? 16 : 8));
+                trackId = box.getInt();
+                box.position(box.position() + 4 + (version == 1 ? 8 : 4) + 8 + 8 + 36);
+                width = box.getInt() >>> 16;
+                height = box.getInt() >>> 16;
+            } else if (child.type().equals("mdia")) {
+                parseContainer(channel, child, media);
+            }
+        }
+
+        long[] keyframes = media.syncSamples == null
+                ? new long[0]
+                : keyframeTimes(media.syncSamples, media.sttsCounts, media.sttsDeltas, media.timescale);
+        return new TrackMetadata(trackId, media.handlerType, media.codec, width, height,
+                toMicros(media.duration, media.timescale), keyframes);
+    }
+
+    private static final class TrackMedia {
+        private long timescale = 1;
+        private long duration;
+        private String handlerType = "";
+        private String codec = "";
+        private long[] sttsCounts = new long[0];
+        private long[] sttsDeltas = new long[0];
+        private long[] syncSamples;
+    }
+
+    private static void parseContainer(FileChannel channel, BoxHeader container, TrackMedia media)
+            throws IOException {
+        for (BoxHeader child = readHeader(channel, container.payloadStart(), container.end()); child != null;
+                child = readHeader(channel, child.end(), container.end())) {
+            switch (child.type()) {
+                case "minf", "stbl" -> parseContainer(channel, child, media);
+                case "mdhd" -> {
+                    ByteBuffer box = readPayload(channel, child, MAX_HEADER_BOX_BYTES, true);
+                    int version = Byte.toUnsignedInt(box.get());
+                    box.position(box.position() + 3 + (version == 1 ? 16 : 8));
+                    media.timescale = Integer.toUnsignedLong(box.getInt());
+                    media.duration = version == 1 ? box.getLong() : Integer.toUnsignedLong(box.getInt());
+                }
+                case "hdlr" -> {
+                    ByteBuffer box = readPayload(channel, child, 12, true);
+                    box.position(box.position() + 8);
+                    media.handlerType = fourCc(box);
+                }
+                case "stsd" -> {
+                    ByteBuffer box = readPayload(channel, child, 16, true);
+                    box.position(box.position() + 8);
+                    if (box.remaining() >= 8) {
+                        box.getInt();
+                        media.codec = fourCc(box);
+                    }
+                }
+                case "stts" -> {
+                    ByteBuffer box = readTable(channel, child);
+                    box.position(box.position() + 4);
+                    int entries = box.getInt();
+                    media.sttsCounts = new long[entries];
+                    media.sttsDeltas = new long[entries];
+                    for (int i = 0; i < entries; i++) {
+                        media.sttsCounts[i] = Integer.toUnsignedLong(box.getInt());
+                        media.sttsDeltas[i] = Integer.toUnsignedLong(box.getInt());
+                    }
+                }
+                case "stss" -> {
+                    ByteBuffer box = readTable(channel, child);
+                    box.position(box.position() + 4);
+                    int entries = box.getInt();
+                    media.syncSamples = new long[entries];
+                    for (int i = 0; i < entries; i++) {
+                        media.syncSamples[i] = Integer.toUnsignedLong(box.getInt());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer readTable(FileChannel channel, BoxHeader box) throws IOException {
+        ByteBuffer table = readPayload(channel, box, MAX_TABLE_BYTES, false);
+        if (table == null) {
+            throw new IOException("Tabela " + box.type() + " acima do limite de " + MAX_TABLE_BYTES + " bytes.");
+        }
+        return table;
+    }
+
+    /**
+     * Converte os números de amostra do stss (1-based, crescentes) em instantes, acumulando as durações do stts.
+     */
+    private static long[] keyframeTimes(long[] syncSamples, long[] sttsCounts, long[] sttsDeltas, long timescale) {
+        long[] times = new long[syncSamples.length];
+        int entry = 0;
+        long firstSampleOfEntry = 1;
+        long entryStartTime = 0;
+
+        for (int i = 0; i < syncSamples.length; i++) {
+            long sample = syncSamples[i];
+            while (entry < sttsCounts.length && sample >= firstSampleOfEntry + sttsCounts[entry]) {
+                entryStartTime += sttsCounts[entry] * sttsDeltas[entry];
+                firstSampleOfEntry += sttsCounts[entry];
+                entry++;
+            }
+            long delta = entry < sttsDeltas.length ? sttsDeltas[entry] : 0;
+            times[i] = toMicros(entryStartTime + (sample - firstSampleOfEntry) * delta, timescale);
+        }
+        return times;
+    }
+
+    private static String fourCc(ByteBuffer buffer) {
+        byte[] bytes = new byte[4];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long toMicros(long value, long timescale) {
+        if (timescale <= 0) {
+            return 0;
+        }
+        return (value / timescale) * MICROS_PER_SECOND + (value % timescale) * MICROS_PER_SECOND / timescale;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Fim de arquivo inesperado ao ler caixa ISO-BMFF.");
+            }
+            position += read;
+        }
+    }
+}
@@ -14,6 +14,12 @@ public class VideoOverlayUtils {
 
     public static boolean applyTextOverlayWithFFmpeg(String inputFilePath, String outputFilePath, String text,
                                                      String position, int fontSize, String fontFile) {
+        return applyTextOverlayWithFFmpeg(inputFilePath, outputFilePath, text, position, fontSize, fontFile, false);
+    }
+
+    public static boolean applyTextOverlayWithFFmpeg(String inputFilePath, String outputFilePath, String text,
+                                                     String position, int fontSize, String fontFile,
+                                                     boolean preview) {
         try {
             if (!VideoOverlayPositionUtils.isValidPosition(position)) {
                 logger.error("Posição inválida: {}", position);
@@ -26,9 +32,19 @@ public class VideoOverlayUtils {
 
             String drawTextCommand = getDrawTextCommand(text, position, fontSize, fontFile);
 
+            String streamingFlags = VideoFileStorageUtils.isNamedPipe(outputFilePath)
+                    ? "-y -movflags " + VideoProcessorUtils.STREAMING_MOV_FLAGS + " "
+                    : "";
+
+            String remoteInputOptions = VideoFileStorageUtils.isRemotePath(inputFilePath)
+                    ? "-reconnect 1 -reconnect_on_network_error 1 -reconnect_delay_max 5 "
+                    : "";
+
+            String presetOption = preview ? "-preset " + VideoProcessorUtils.PREVIEW_PRESET + " " : "";
+
             String ffmpegCommand = String.format(
-                    "ffmpeg -i \"%s\" -vf \"%s\" -c:v libx264 -crf 20 -c:a aac -b:a 256k \"%s\"",
-                    inputFilePath, drawTextCommand, outputFilePath
+                    "ffmpeg %s-i \"%s\" -vf \"%s\" -c:v libx264 %s-crf 20 -c:a aac -b:a 256k %s\"%s\"",
+                    remoteInputOptions, inputFilePath, drawTextCommand, presetOption, streamingFlags, outputFilePath
             );
 
             logger.info("Executando comando FFmpeg: {}", ffmpegCommand);
@@ -69,10 +85,15 @@ public class VideoOverlayUtils {
     }
 
     private static boolean executeFFmpegCommand(String command) {
+        if (VideoFFmpegProcessRegistry.isAborted() || VideoFFmpegProcessRegistry.isCurrentJobAborted()) {
+            logger.warn("Overlay não iniciado: a instância está encerrando ou o job foi cancelado.");
+            return false;
+        }
         try {
             ProcessBuilder processBuilder = new ProcessBuilder("bash", "-c", command);
             processBuilder.redirectErrorStream(true);
             Process process = processBuilder.start();
+            VideoFFmpegProcessRegistry.register(process);
 
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
                 String ffmpegOutput = reader.lines().collect(Collectors.joining(System.lineSeparator()));
@@ -87,6 +108,8 @@ public class VideoOverlayUtils {
                 }
 
                 return true;
+            } finally {
+                VideoFFmpegProcessRegistry.unregister(process);
             }
         } catch (IOException | InterruptedException e) {
             logger.error("Exceção ao executar FFmpeg: {}", e.getMessage(), e);
@@ -3,6 +3,9 @@ package com.l8group.videoeditor.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -12,16 +15,34 @@ public class VideoProcessorUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(VideoProcessorUtils.class);
 
+    public static final String HLS_PLAYLIST_NAME = "playlist.m3u8";
+    public static final String HLS_MASTER_PLAYLIST_NAME = "master.m3u8";
+    public static final String STREAMING_MOV_FLAGS = "frag_keyframe+empty_moov+default_base_moof";
+    /**
+     * Preset dos lotes em modo de pré-visualização: a saída só serve para conferir parâmetros, então a
+     * velocidade importa mais que a compressão.
+     */
+    public static final String PREVIEW_PRESET = "ultrafast";
+
     public static boolean cutVideo(String inputFilePath, String outputFilePath, String startTime, String endTime) {
+        return cutVideo(inputFilePath, outputFilePath, startTime, endTime, false);
+    }
+
+    public static boolean cutVideo(String inputFilePath, String outputFilePath, String startTime, String endTime,
+            boolean preview) {
         logger.info("Iniciando corte do vídeo. inputFilePath={}, outputFilePath={}, startTime={}, endTime={}",
                 inputFilePath, outputFilePath, startTime, endTime);
 
+        // -ss antes de -i faz o demuxer buscar direto no ponto de início; em entradas HTTP isso vira um
+        // Range request, então só os bytes do trecho cortado são baixados.
+        int cutDurationSeconds = VideoDurationUtils.convertTimeToSeconds(endTime)
+                - VideoDurationUtils.convertTimeToSeconds(startTime);
         boolean success = executeFFmpegCommand(
-                "ffmpeg", "-i", inputFilePath,
-                "-ss", startTime, "-to", endTime,
-                "-c:v", "libx264", "-preset", "fast", "-crf", "23",
+                "ffmpeg", "-ss", startTime, "-i", inputFilePath,
+                "-t", String.valueOf(cutDurationSeconds),
+                "-c:v", "libx264", "-preset", preview ? PREVIEW_PRESET : "fast", "-crf", "23",
                 "-c:a", "aac", "-b:a", "128k",
-                "-movflags", "+faststart",
+                "-movflags", movFlagsFor(outputFilePath),
                 "-map_metadata", "0",
                 outputFilePath);
 
@@ -33,7 +54,187 @@ public class VideoProcessorUtils {
         return success;
     }
 
+    /**
+     * Extrai vários intervalos numa única decodificação. A entrada é buscada (-ss antes de -i) no início do
+     * primeiro intervalo e limitada ao fim do último; cada intervalo vira um ramo trim/atrim do filtergraph.
+     * Com {@code concatenate} os ramos são concatenados em {@code outputFilePaths.get(0)}; sem ele, cada
+     * intervalo vai para a saída de mesmo índice.
+     *
+     * @param rangesSeconds pares {início, fim} em segundos, na ordem em que devem aparecer
+     */
+    public static boolean cutVideoRanges(String inputFilePath, List<String> outputFilePaths,
+            List<int[]> rangesSeconds, boolean concatenate, boolean hasAudio, boolean preview) {
+        logger.info("Iniciando corte de múltiplos intervalos. inputFilePath={}, outputs={}, intervalos={}, concatenar={}",
+                inputFilePath, outputFilePaths, rangesSeconds.size(), concatenate);
+
+        int ranges = rangesSeconds.size();
+        if (ranges == 0 || outputFilePaths.size() != (concatenate ? 1 : ranges)) {
+            logger.error("Quantidade de saídas ({}) incompatível com {} intervalos (concatenar={}).",
+                    outputFilePaths.size(), ranges, concatenate);
+            return false;
+        }
+
+        int windowStart = rangesSeconds.stream().mapToInt(range -> range[0]).min().orElse(0);
+        int windowEnd = rangesSeconds.stream().mapToInt(range -> range[1]).max().orElse(0);
+
+        StringBuilder filterGraph = new StringBuilder();
+        appendRangeBranches(filterGraph, "0:v", "split", "trim", "setpts", "v", rangesSeconds, windowStart);
+        if (hasAudio) {
+            appendRangeBranches(filterGraph, "0:a", "asplit", "atrim", "asetpts", "a", rangesSeconds, windowStart);
+        }
+        if (concatenate) {
+            for (int i = 0; i < ranges; i++) {
+                filterGraph.append("[v").append(i).append("]");
+                if (hasAudio) {
+                    filterGraph.append("[a").append(i).append("]");
+                }
+            }
+            filterGraph.append("concat=n=").append(ranges).append(":v=1:a=").append(hasAudio ? 1 : 0)
+                    .append(hasAudio ? "[vout][aout]" : "[vout]");
+        } else {
+            filterGraph.setLength(filterGraph.length() - 1);
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+                "ffmpeg", "-ss", String.valueOf(windowStart), "-t", String.valueOf(windowEnd - windowStart),
+                "-i", inputFilePath,
+                "-filter_complex", filterGraph.toString()));
+        for (int output = 0; output < outputFilePaths.size(); output++) {
+            String videoLabel = concatenate ? "[vout]" : "[v" + output + "]";
+            String audioLabel = concatenate ? "[aout]" : "[a" + output + "]";
+            command.addAll(List.of("-map", videoLabel));
+            if (hasAudio) {
+                command.addAll(List.of("-map", audioLabel));
+            }
+            command.addAll(List.of(
+                    "-c:v", "libx264", "-preset", preview ? PREVIEW_PRESET : "fast", "-crf", "23",
+                    "-c:a", "aac", "-b:a", "128k",
+                    "-movflags", movFlagsFor(outputFilePaths.get(output)),
+                    outputFilePaths.get(output)));
+        }
+
+        boolean success = executeFFmpegCommand(command.toArray(new String[0]));
+        if (success) {
+            logger.info("Corte de múltiplos intervalos concluído com sucesso: {}", outputFilePaths);
+        } else {
+            logger.error("Falha no corte de múltiplos intervalos: {}", outputFilePaths);
+        }
+        return success;
+    }
+
+    /**
+     * Acrescenta ao filtergraph um ramo por intervalo ([v0], [v1]... ou [a0], [a1]...), com tempos relativos ao
+     * início da janela buscada na entrada. Cada ramo termina com ';'.
+     */
+    private static void appendRangeBranches(StringBuilder filterGraph, String inputLabel, String splitFilter,
+            String trimFilter, String setptsFilter, String prefix, List<int[]> rangesSeconds, int windowStart) {
+        int ranges = rangesSeconds.size();
+        if (ranges > 1) {
+            filterGraph.append("[").append(inputLabel).append("]").append(splitFilter).append("=").append(ranges);
+            for (int i = 0; i < ranges; i++) {
+                filterGraph.append("[").append(prefix).append("s").append(i).append("]");
+            }
+            filterGraph.append(";");
+        }
+        for (int i = 0; i < ranges; i++) {
+            String source = ranges > 1 ? prefix + "s" + i : inputLabel;
+            filterGraph.append("[").append(source).append("]").append(trimFilter)
+                    .append("=start=").append(rangesSeconds.get(i)[0] - windowStart)
+                    .append(":end=").append(rangesSeconds.get(i)[1] - windowStart)
+                    .append(",").append(setptsFilter).append("=PTS-STARTPTS")
+                    .append("[").append(prefix).append(i).append("];");
+        }
+    }
+
+    /**
+     * Corte por cópia de stream, sem re-encode. Só é preciso quando a entrada tem quadro-chave nos pontos de
+     * corte, como a mezzanine com GOP fechado de tamanho fixo.
+     */
+    public static boolean cutVideoStreamCopy(String inputFilePath, String outputFilePath, String startTime,
+            String endTime) {
+        logger.info("Iniciando corte por cópia de stream. inputFilePath={}, outputFilePath={}, startTime={}, endTime={}",
+                inputFilePath, outputFilePath, startTime, endTime);
+
+        int cutDurationSeconds = VideoDurationUtils.convertTimeToSeconds(endTime)
+                - VideoDurationUtils.convertTimeToSeconds(startTime);
+        boolean success = executeFFmpegCommand(
+                "ffmpeg", "-ss", startTime, "-i", inputFilePath,
+                "-t", String.valueOf(cutDurationSeconds),
+                "-c", "copy",
+                "-avoid_negative_ts", "make_zero",
+                "-movflags", movFlagsFor(outputFilePath),
+                "-map_metadata", "0",
+                outputFilePath);
+
+        if (success) {
+            logger.info("Corte por cópia de stream concluído com sucesso: {}", outputFilePath);
+        } else {
+            logger.error("Falha no corte por cópia de stream: {}", outputFilePath);
+        }
+        return success;
+    }
+
+    /**
+     * Normaliza o original para o perfil da casa: H.264 com taxa de quadros constante, GOP fechado de
+     * {@code gopSeconds} com quadros-chave forçados em cada múltiplo, AAC 48 kHz e moov no início do arquivo.
+     */
+    public static boolean transcodeToMezzanine(String inputFilePath, String outputFilePath, int gopSeconds,
+            int frameRate) {
+        logger.info("Iniciando normalização mezzanine. inputFilePath={}, outputFilePath={}, gop={}s, fps={}",
+                inputFilePath, outputFilePath, gopSeconds, frameRate);
+
+        String gopFrames = String.valueOf(gopSeconds * frameRate);
+        boolean success = executeFFmpegCommand(
+                "ffmpeg", "-i", inputFilePath,
+                "-c:v", "libx264", "-preset", "fast", "-crf", "18", "-pix_fmt", "yuv420p",
+                "-r", String.valueOf(frameRate), "-fps_mode", "cfr",
+                "-g", gopFrames, "-keyint_min", gopFrames, "-sc_threshold", "0", "-flags", "+cgop",
+                "-force_key_frames", "expr:gte(t,n_forced*" + gopSeconds + ")",
+                "-c:a", "aac", "-b:a", "192k", "-ar", "48000",
+                "-movflags", "+faststart",
+                "-map_metadata", "0",
+                outputFilePath);
+
+        if (success) {
+            logger.info("Normalização mezzanine concluída com sucesso: {}", outputFilePath);
+        } else {
+            logger.error("Falha na normalização mezzanine: {}", outputFilePath);
+        }
+        return success;
+    }
+
+    /**
+     * Proxy de edição: altura reduzida mantendo a proporção, bitrate baixo e moov no início. A duração é a mesma
+     * da origem, então tempos de corte valem para os dois.
+     */
+    public static boolean transcodeToProxy(String inputFilePath, String outputFilePath, int height,
+            String videoBitrate) {
+        logger.info("Iniciando geração de proxy. inputFilePath={}, outputFilePath={}, altura={}, bitrate={}",
+                inputFilePath, outputFilePath, height, videoBitrate);
+
+        boolean success = executeFFmpegCommand(
+                "ffmpeg", "-i", inputFilePath,
+                "-vf", "scale=-2:" + height,
+                "-c:v", "libx264", "-preset", "veryfast", "-b:v", videoBitrate, "-pix_fmt", "yuv420p",
+                "-c:a", "aac", "-b:a", "64k", "-ac", "2",
+                "-movflags", "+faststart",
+                "-map_metadata", "0",
+                outputFilePath);
+
+        if (success) {
+            logger.info("Proxy gerado com sucesso: {}", outputFilePath);
+        } else {
+            logger.error("Falha na geração do proxy: {}", outputFilePath);
+        }
+        return success;
+    }
+
     public static boolean convertVideo(String inputFilePath, String outputFilePathWithoutExtension, String format) {
+        return convertVideo(inputFilePath, outputFilePathWithoutExtension, format, false);
+    }
+
+    public static boolean convertVideo(String inputFilePath, String outputFilePathWithoutExtension, String format,
+            boolean preview) {
         logger.info("Iniciando conversão do vídeo. inputFilePath={}, outputFilePathWithoutExtension={}, formato={}",
                 inputFilePath, outputFilePathWithoutExtension, format);
 
@@ -41,9 +242,9 @@ public class VideoProcessorUtils {
 
         boolean success = executeFFmpegCommand(
                 "ffmpeg", "-i", inputFilePath,
-                "-c:v", "libx264", "-preset", "slow", "-crf", "23",
+                "-c:v", "libx264", "-preset", preview ? PREVIEW_PRESET : "slow", "-crf", "23",
                 "-c:a", "aac", "-b:a", "192k",
-                "-movflags", "+faststart",
+                "-movflags", movFlagsFor(outputFilePathWithExtension),
                 "-map_metadata", "0",
                 outputFilePathWithExtension);
 
@@ -56,15 +257,20 @@ public class VideoProcessorUtils {
     }
 
     public static boolean resizeVideo(String inputFilePath, String outputFilePath, int width, int height) {
+        return resizeVideo(inputFilePath, outputFilePath, width, height, false);
+    }
+
+    public static boolean resizeVideo(String inputFilePath, String outputFilePath, int width, int height,
+            boolean preview) {
         logger.info("Iniciando redimensionamento do vídeo. inputFilePath={}, outputFilePath={}, width={}, height={}",
                 inputFilePath, outputFilePath, width, height);
 
         boolean success = executeFFmpegCommand(
                 "ffmpeg", "-i", inputFilePath,
                 "-vf", "scale=" + width + ":" + height,
-                "-c:v", "libx264", "-preset", "fast", "-crf", "23",
+                "-c:v", "libx264", "-preset", preview ? PREVIEW_PRESET : "fast", "-crf", "23",
                 "-c:a", "aac", "-b:a", "128k",
-                "-movflags", "+faststart",
+                "-movflags", movFlagsFor(outputFilePath),
                 "-map_metadata", "0",
                 outputFilePath);
 
@@ -76,13 +282,199 @@ public class VideoProcessorUtils {
         return success;
     }
 
+    /**
+     * Saídas em named pipe não permitem seek, então o MP4 precisa ser fragmentado em vez de usar faststart.
+     */
+    public static String movFlagsFor(String outputFilePath) {
+        return VideoFileStorageUtils.isNamedPipe(outputFilePath)
+                ? STREAMING_MOV_FLAGS
+                : "+faststart";
+    }
+
+    public static boolean resizeVideoToRenditions(String inputFilePath, List<String> outputFilePaths,
+            List<String> resolutions) {
+        logger.info("Iniciando redimensionamento em múltiplas saídas. inputFilePath={}, outputs={}, resolutions={}",
+                inputFilePath, outputFilePaths, resolutions);
+
+        if (outputFilePaths.size() != resolutions.size() || resolutions.isEmpty()) {
+            logger.error("Quantidade de saídas ({}) não corresponde à quantidade de resoluções ({}).",
+                    outputFilePaths.size(), resolutions.size());
+            return false;
+        }
+
+        int branches = resolutions.size();
+        StringBuilder filterGraph = new StringBuilder("[0:v]split=").append(branches);
+        for (int i = 0; i < branches; i++) {
+            filterGraph.append("[s").append(i).append("]");
+        }
+        for (int i = 0; i < branches; i++) {
+            String[] dimensions = resolutions.get(i).split("x");
+            filterGraph.append(";[s").append(i).append("]scale=")
+                    .append(dimensions[0]).append(":").append(dimensions[1])
+                    .append("[v").append(i).append("]");
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+                "ffmpeg", "-i", inputFilePath,
+                "-filter_complex", filterGraph.toString()));
+        for (int i = 0; i < branches; i++) {
+            command.addAll(List.of(
+                    "-map", "[v" + i + "]", "-map", "0:a?",
+                    "-c:v", "libx264", "-preset", "fast", "-crf", "23",
+                    "-c:a", "aac", "-b:a", "128k",
+                    "-movflags", movFlagsFor(outputFilePaths.get(i)),
+                    "-map_metadata", "0",
+                    outputFilePaths.get(i)));
+        }
+
+        boolean success = executeFFmpegCommand(command.toArray(new String[0]));
+
+        if (success) {
+            logger.info("Redimensionamento em múltiplas saídas concluído com sucesso: {}", outputFilePaths);
+        } else {
+            logger.error("Falha no redimensionamento em múltiplas saídas: {}", outputFilePaths);
+        }
+        return success;
+    }
+
+    public static boolean packageHls(String inputFilePath, String outputDirectory, int segmentSeconds) {
+        logger.info("Iniciando empacotamento HLS. inputFilePath={}, outputDirectory={}, segmentSeconds={}",
+                inputFilePath, outputDirectory, segmentSeconds);
+
+        boolean success = executeFFmpegCommand(
+                "ffmpeg", "-i", inputFilePath,
+                "-map", "0:v", "-map", "0:a?",
+                "-c", "copy",
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentSeconds),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_type", "fmp4",
+                "-hls_fmp4_init_filename", "init.mp4",
+                "-hls_segment_filename", Paths.get(outputDirectory, "segment_%05d.m4s").toString(),
+                Paths.get(outputDirectory, HLS_PLAYLIST_NAME).toString());
+
+        if (success) {
+            logger.info("Empacotamento HLS concluído com sucesso: {}", outputDirectory);
+        } else {
+            logger.error("Falha no empacotamento HLS: {}", outputDirectory);
+        }
+        return success;
+    }
+
+    public static boolean packageHlsLadder(String inputFilePath, String outputDirectory, List<String> resolutions,
+            boolean hasAudio, int segmentSeconds) {
+        logger.info("Iniciando empacotamento HLS multi-bitrate. inputFilePath={}, outputDirectory={}, resolutions={}",
+                inputFilePath, outputDirectory, resolutions);
+
+        if (resolutions.isEmpty()) {
+            logger.error("Nenhuma resolução informada para o empacotamento HLS multi-bitrate.");
+            return false;
+        }
+
+        int branches = resolutions.size();
+        StringBuilder filterGraph = new StringBuilder("[0:v]split=").append(branches);
+        for (int i = 0; i < branches; i++) {
+            filterGraph.append("[s").append(i).append("]");
+        }
+        List<String> streamMap = new ArrayList<>();
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-i", inputFilePath));
+        List<String> encoderOptions = new ArrayList<>();
+        for (int i = 0; i < branches; i++) {
+            String[] dimensions = resolutions.get(i).split("x");
+            int width = Integer.parseInt(dimensions[0]);
+            int height = Integer.parseInt(dimensions[1]);
+            filterGraph.append(";[s").append(i).append("]scale=")
+                    .append(width).append(":").append(height)
+                    .append("[v").append(i).append("]");
+
+            long bitrateKbps = Math.max(400, (long) width * height / 400);
+            encoderOptions.addAll(List.of(
+                    "-b:v:" + i, bitrateKbps + "k",
+                    "-maxrate:v:" + i, (bitrateKbps * 3 / 2) + "k",
+                    "-bufsize:v:" + i, (bitrateKbps * 2) + "k"));
+            streamMap.add(hasAudio ? "v:" + i + ",a:" + i : "v:" + i);
+        }
+
+        command.addAll(List.of("-filter_complex", filterGraph.toString()));
+        for (int i = 0; i < branches; i++) {
+            command.addAll(List.of("-map", "[v" + i + "]"));
+            if (hasAudio) {
+                command.addAll(List.of("-map", "0:a:0"));
+            }
+        }
+        command.addAll(List.of(
+                "-c:v", "libx264", "-preset", "fast",
+                // Keyframe a cada segmento pelo tempo, não por contagem de quadros: vale para qualquer frame rate.
+                "-force_key_frames", "expr:gte(t,n_forced*" + segmentSeconds + ")", "-sc_threshold", "0",
+                "-c:a", "aac", "-b:a", "128k"));
+        command.addAll(encoderOptions);
+        command.addAll(List.of(
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentSeconds),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_type", "fmp4",
+                "-hls_fmp4_init_filename", "init.mp4",
+                "-master_pl_name", HLS_MASTER_PLAYLIST_NAME,
+                "-var_stream_map", String.join(" ", streamMap),
+                "-hls_segment_filename", Paths.get(outputDirectory, "stream_%v", "segment_%05d.m4s").toString(),
+                Paths.get(outputDirectory, "stream_%v", HLS_PLAYLIST_NAME).toString()));
+
+        boolean success = executeFFmpegCommand(command.toArray(new String[0]));
+
+        if (success) {
+            logger.info("Empacotamento HLS multi-bitrate concluído com sucesso: {}", outputDirectory);
+        } else {
+            logger.error("Falha no empacotamento HLS multi-bitrate: {}", outputDirectory);
+        }
+        return success;
+    }
+
+    /**
+     * Entradas remotas (URLs pré-assinadas do S3) recebem opções de reconexão do protocolo HTTP, para que uma
+     * queda de conexão no meio de um Range request não derrube o processamento inteiro.
+     */
+    private static String[] withRemoteInputOptions(String[] command) {
+        List<String> arguments = new ArrayList<>(command.length + 8);
+        for (int i = 0; i < command.length; i++) {
+            if ("-i".equals(command[i]) && i + 1 < command.length
+                    && VideoFileStorageUtils.isRemotePath(command[i + 1])) {
+                arguments.addAll(List.of("-reconnect", "1", "-reconnect_on_network_error", "1",
+                        "-reconnect_delay_max", "5"));
+            }
+            arguments.add(command[i]);
+        }
+        return arguments.toArray(new String[0]);
+    }
+
+    private static String maskSignedUrls(String commandLine) {
+        return commandLine.replaceAll("\\?X-Amz-[^\\s]*", "?<assinatura>");
+    }
+
     private static boolean executeFFmpegCommand(String... command) {
-        logger.info("Executando comando FFmpeg: {}", String.join(" ", command));
+        if (command.length > 1 && VideoFileStorageUtils.isNamedPipe(command[command.length - 1])) {
+            // O FIFO já existe no disco; sem -y o FFmpeg pararia perguntando se deve sobrescrevê-lo.
+            String[] withOverwrite = new String[command.length + 1];
+            withOverwrite[0] = command[0];
+            withOverwrite[1] = "-y";
+            System.arraycopy(command, 1, withOverwrite, 2, command.length - 1);
+            command = withOverwrite;
+        }
+        if (VideoFFmpegProcessRegistry.isAborted()) {
+            logger.warn("Encode não iniciado: a instância está encerrando (drain).");
+            return false;
+        }
+        if (VideoFFmpegProcessRegistry.isCurrentJobAborted()) {
+            logger.warn("Encode não iniciado: o job foi cancelado ou excedeu o prazo.");
+            return false;
+        }
+        command = withRemoteInputOptions(command);
+        logger.info("Executando comando FFmpeg: {}", maskSignedUrls(String.join(" ", command)));
 
         try {
             ProcessBuilder processBuilder = new ProcessBuilder(command);
             processBuilder.redirectErrorStream(true);
             Process process = processBuilder.start();
+            VideoFFmpegProcessRegistry.register(process);
 
             long startTime = System.currentTimeMillis();
 
@@ -100,10 +492,12 @@ public class VideoProcessorUtils {
                     logger.info("Comando FFmpeg executado com sucesso em {} ms. Saída:\n{}", duration, ffmpegOutput);
                 }
                 return true;
+            } finally {
+                VideoFFmpegProcessRegistry.unregister(process);
             }
         } catch (IOException | InterruptedException e) {
             logger.error("Exceção ao executar FFmpeg: {}", e.getMessage(), e);
             return false;
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.l8group.videoeditor.utils.VideoAudioUtils;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 public class VideoAudioValidation {
@@ -30,4 +31,28 @@ public class VideoAudioValidation {
             throw new RuntimeException("Ocorreu um erro ao verificar as propriedades de áudio do vídeo. Por favor, tente novamente.", e);
         }
     }
+
+    /**
+     * Validação de vários intervalos de uma fonte que já se sabe ter áudio: a sincronia é verificada uma vez por
+     * fonte e só o silêncio, que depende do trecho, é verificado por intervalo.
+     */
+    public static void validateAudioRanges(String filePath, List<int[]> ranges) {
+        try {
+            if (!VideoAudioUtils.isAudioVideoSynced(filePath)) {
+                log.warn("Aviso: O áudio e o vídeo do arquivo '{}' foram detectados como dessincronizados.", filePath);
+                throw new IllegalArgumentException("O áudio e o vídeo estão dessincronizados.");
+            }
+
+            for (int[] range : ranges) {
+                if (VideoAudioUtils.isSilentSegment(filePath, range[0], range[1])) {
+                    log.warn("Aviso: O segmento de áudio do vídeo '{}' entre os segundos {} e {} foi detectado como silencioso.", filePath, range[0], range[1]);
+                    throw new IllegalArgumentException(String.format("O segmento de %d a %d é silencioso.", range[0], range[1]));
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("Erro ao validar propriedades de áudio do vídeo {}: {}", filePath, e.getMessage(), e);
+            throw new RuntimeException("Ocorreu um erro ao verificar as propriedades de áudio do vídeo. Por favor, tente novamente.", e);
+        }
+    }
 }
\ No newline at end of file
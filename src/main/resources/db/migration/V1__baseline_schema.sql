@@ -0,0 +1,129 @@
+-- Esquema que o ddl-auto=update gerava até aqui. Bancos já existentes são marcados com baseline na versão 1
+-- (spring.flyway.baseline-on-migrate) e não executam este script.
+
+CREATE TABLE IF NOT EXISTS public.users (
+    id          UUID                        NOT NULL,
+    user_name   VARCHAR(255)                NOT NULL,
+    email       VARCHAR(255)                NOT NULL,
+    password    VARCHAR(255)                NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status      VARCHAR(255)                NOT NULL,
+    retry_count INTEGER                     NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_status_check CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY'))
+);
+
+CREATE TABLE IF NOT EXISTS videos_files (
+    id                  UUID                        NOT NULL,
+    video_file_name     VARCHAR(255)                NOT NULL,
+    video_file_size     BIGINT                      NOT NULL,
+    video_file_format   VARCHAR(255)                NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status              VARCHAR(255)                NOT NULL,
+    video_duration      VARCHAR(255)                NOT NULL,
+    video_file_path     VARCHAR(255)                NOT NULL,
+    video_s3_key        VARCHAR(255),
+    mezzanine_file_name VARCHAR(255),
+    mezzanine_s3_key    VARCHAR(255),
+    proxy_file_name     VARCHAR(255),
+    proxy_s3_key        VARCHAR(255),
+    retry_count         INTEGER                     NOT NULL,
+    user_id             UUID                        NOT NULL,
+    CONSTRAINT videos_files_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_files_status_check CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_files_user FOREIGN KEY (user_id) REFERENCES public.users (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_processing_batches (
+    id               UUID                        NOT NULL,
+    video_file_id    UUID                        NOT NULL,
+    user_id          UUID                        NOT NULL,
+    processing_steps VARCHAR(255)                NOT NULL,
+    s3_url           TEXT,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status           VARCHAR(255)                NOT NULL,
+    retry_count      INTEGER                     NOT NULL,
+    CONSTRAINT videos_processing_batches_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_processing_batches_status_check
+        CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_processing_batches_video_file FOREIGN KEY (video_file_id) REFERENCES videos_files (id),
+    CONSTRAINT fk_videos_processing_batches_user FOREIGN KEY (user_id) REFERENCES public.users (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_conversions (
+    id                  UUID                        NOT NULL,
+    video_files_id      UUID                        NOT NULL,
+    video_file_format   VARCHAR(255)                NOT NULL,
+    video_target_format VARCHAR(255)                NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status              VARCHAR(255)                NOT NULL,
+    retry_count         INTEGER                     NOT NULL,
+    CONSTRAINT videos_conversions_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_conversions_status_check
+        CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_conversions_video_file FOREIGN KEY (video_files_id) REFERENCES videos_files (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_cuts (
+    id                 UUID                        NOT NULL,
+    video_file_id      UUID                        NOT NULL,
+    video_cut_duration VARCHAR(255)                NOT NULL,
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status             VARCHAR(255)                NOT NULL,
+    retry_count        INTEGER                     NOT NULL,
+    CONSTRAINT videos_cuts_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_cuts_status_check CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_cuts_video_file FOREIGN KEY (video_file_id) REFERENCES videos_files (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_overlay (
+    id                UUID                        NOT NULL,
+    video_files_id    UUID                        NOT NULL,
+    overlay_text      TEXT                        NOT NULL,
+    overlay_position  VARCHAR(255)                NOT NULL,
+    overlay_font_size INTEGER                     NOT NULL,
+    created_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status            VARCHAR(255)                NOT NULL,
+    retry_count       INTEGER                     NOT NULL,
+    CONSTRAINT videos_overlay_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_overlay_status_check
+        CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_overlay_video_file FOREIGN KEY (video_files_id) REFERENCES videos_files (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_resizes (
+    id                UUID                        NOT NULL,
+    video_file_id     UUID                        NOT NULL,
+    target_resolution VARCHAR(255)                NOT NULL,
+    created_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status            VARCHAR(255)                NOT NULL,
+    retry_count       INTEGER                     NOT NULL,
+    CONSTRAINT videos_resizes_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_resizes_status_check
+        CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_resizes_video_file FOREIGN KEY (video_file_id) REFERENCES videos_files (id)
+);
+
+CREATE TABLE IF NOT EXISTS videos_download (
+    id                 UUID                        NOT NULL,
+    batch_process_id   UUID                        NOT NULL,
+    user_id            UUID                        NOT NULL,
+    download_file_name VARCHAR(255)                NOT NULL,
+    s3_url             TEXT,
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status             VARCHAR(255)                NOT NULL,
+    retry_count        INTEGER                     NOT NULL,
+    CONSTRAINT videos_download_pkey PRIMARY KEY (id),
+    CONSTRAINT videos_download_status_check
+        CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY')),
+    CONSTRAINT fk_videos_download_batch FOREIGN KEY (batch_process_id) REFERENCES videos_processing_batches (id),
+    CONSTRAINT fk_videos_download_user FOREIGN KEY (user_id) REFERENCES public.users (id)
+);
@@ -0,0 +1,40 @@
+-- Índices dos caminhos quentes. Status terminais (COMPLETED, FAILED_PERMANENTLY) são a maioria das linhas e
+-- nunca são varridos, por isso os índices de retentativa são parciais sobre os status não terminais.
+
+-- Login e cadastro (findByUserName, existsByEmail).
+CREATE INDEX IF NOT EXISTS idx_users_user_name ON public.users (user_name);
+CREATE INDEX IF NOT EXISTS idx_users_email ON public.users (email);
+
+-- GET /api/videos: keyset sobre (created_at, id), sem filtro, por dono e por status.
+CREATE INDEX IF NOT EXISTS idx_videos_files_created_id ON videos_files (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_videos_files_user_created_id ON videos_files (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_videos_files_status_created_id ON videos_files (status, created_at DESC, id DESC);
+
+-- VideoRetryScheduler: vídeos ainda retentáveis.
+CREATE INDEX IF NOT EXISTS idx_videos_files_retryable ON videos_files (updated_at)
+    WHERE status IN ('PROCESSING', 'ERROR');
+
+-- Despejo do cache de mídia: o arquivo local ainda pertence a algum vídeo?
+CREATE INDEX IF NOT EXISTS idx_videos_files_file_name ON videos_files (video_file_name);
+CREATE INDEX IF NOT EXISTS idx_videos_files_mezzanine_file_name ON videos_files (mezzanine_file_name)
+    WHERE mezzanine_file_name IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_videos_files_proxy_file_name ON videos_files (proxy_file_name)
+    WHERE proxy_file_name IS NOT NULL;
+
+-- Lotes (findByVideoFileId) e lotes ainda em andamento.
+CREATE INDEX IF NOT EXISTS idx_videos_processing_batches_video_file ON videos_processing_batches (video_file_id);
+CREATE INDEX IF NOT EXISTS idx_videos_processing_batches_user ON videos_processing_batches (user_id);
+CREATE INDEX IF NOT EXISTS idx_videos_processing_batches_retryable ON videos_processing_batches (updated_at)
+    WHERE status IN ('PROCESSING', 'ERROR');
+
+-- Reaproveitamento de conversões e redimensionamentos já feitos.
+CREATE INDEX IF NOT EXISTS idx_videos_conversions_video_file_format
+    ON videos_conversions (video_files_id, video_target_format);
+CREATE INDEX IF NOT EXISTS idx_videos_resizes_video_file_resolution
+    ON videos_resizes (video_file_id, target_resolution);
+
+-- Chaves estrangeiras restantes, para não varrer as tabelas filhas em exclusões e junções.
+CREATE INDEX IF NOT EXISTS idx_videos_cuts_video_file ON videos_cuts (video_file_id);
+CREATE INDEX IF NOT EXISTS idx_videos_overlay_video_file ON videos_overlay (video_files_id);
+CREATE INDEX IF NOT EXISTS idx_videos_download_batch ON videos_download (batch_process_id);
+CREATE INDEX IF NOT EXISTS idx_videos_download_user ON videos_download (user_id);
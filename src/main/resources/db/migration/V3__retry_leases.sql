@@ -0,0 +1,8 @@
+-- next_attempt_at: arrendamento do item enquanto um nó o retenta e, depois de uma falha, o backoff até a
+-- próxima tentativa.
+ALTER TABLE videos_files ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE videos_processing_batches ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE videos_download ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_videos_download_retryable ON videos_download (updated_at)
+    WHERE status IN ('PROCESSING', 'ERROR');
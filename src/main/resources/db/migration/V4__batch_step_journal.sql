@@ -0,0 +1,22 @@
+-- Diário de etapas dos lotes: cada operação concluída deixa a saída no S3 (checkpoints/<lote>/...) com o
+-- checksum, e o pedido original fica no próprio lote. Qualquer nó retoma o lote a partir da última etapa.
+ALTER TABLE videos_processing_batches ADD COLUMN IF NOT EXISTS request_payload TEXT;
+
+CREATE TABLE IF NOT EXISTS videos_batch_steps (
+    id              UUID                        NOT NULL,
+    batch_id        UUID                        NOT NULL,
+    step_index      INTEGER                     NOT NULL,
+    operation_type  VARCHAR(255)                NOT NULL,
+    artifact_s3_key TEXT                        NOT NULL,
+    artifact_format VARCHAR(255)                NOT NULL,
+    checksum        VARCHAR(64)                 NOT NULL,
+    size_bytes      BIGINT                      NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT videos_batch_steps_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_videos_batch_steps_batch_step UNIQUE (batch_id, step_index),
+    CONSTRAINT fk_videos_batch_steps_batch FOREIGN KEY (batch_id) REFERENCES videos_processing_batches (id)
+);
+
+-- Lotes em PROCESSING cujo arrendamento venceu: o nó dono caiu e o lote deve ser retomado.
+CREATE INDEX IF NOT EXISTS idx_videos_processing_batches_stalled ON videos_processing_batches (next_attempt_at)
+    WHERE status = 'PROCESSING';
@@ -0,0 +1,18 @@
+-- Chaves de idempotência das submissões síncronas (upload e lote): a retentativa do cliente com a mesma
+-- Idempotency-Key se junta ao job em andamento ou recebe a resposta já gravada, sem novo encode ou upload.
+CREATE TABLE IF NOT EXISTS videos_idempotency_keys (
+    id                  UUID                        NOT NULL,
+    scope               VARCHAR(32)                 NOT NULL,
+    owner_name          VARCHAR(255)                NOT NULL,
+    idempotency_key     VARCHAR(255)                NOT NULL,
+    request_fingerprint VARCHAR(64)                 NOT NULL,
+    resource_id         UUID,
+    response_status     INTEGER,
+    response_body       TEXT,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed_at        TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT videos_idempotency_keys_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_videos_idempotency_keys_scope_owner_key UNIQUE (scope, owner_name, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_videos_idempotency_keys_completed_at ON videos_idempotency_keys (completed_at);
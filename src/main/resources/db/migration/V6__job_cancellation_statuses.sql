@@ -0,0 +1,33 @@
+-- CANCELLED (DELETE do job) e TIMED_OUT (prazo do job) passam a valer em todas as tabelas com status, que
+-- compartilham o VideoStatusEnum.
+ALTER TABLE public.users DROP CONSTRAINT IF EXISTS users_status_check;
+ALTER TABLE public.users ADD CONSTRAINT users_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_files DROP CONSTRAINT IF EXISTS videos_files_status_check;
+ALTER TABLE videos_files ADD CONSTRAINT videos_files_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_processing_batches DROP CONSTRAINT IF EXISTS videos_processing_batches_status_check;
+ALTER TABLE videos_processing_batches ADD CONSTRAINT videos_processing_batches_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_conversions DROP CONSTRAINT IF EXISTS videos_conversions_status_check;
+ALTER TABLE videos_conversions ADD CONSTRAINT videos_conversions_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_cuts DROP CONSTRAINT IF EXISTS videos_cuts_status_check;
+ALTER TABLE videos_cuts ADD CONSTRAINT videos_cuts_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_overlay DROP CONSTRAINT IF EXISTS videos_overlay_status_check;
+ALTER TABLE videos_overlay ADD CONSTRAINT videos_overlay_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_resizes DROP CONSTRAINT IF EXISTS videos_resizes_status_check;
+ALTER TABLE videos_resizes ADD CONSTRAINT videos_resizes_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
+
+ALTER TABLE videos_download DROP CONSTRAINT IF EXISTS videos_download_status_check;
+ALTER TABLE videos_download ADD CONSTRAINT videos_download_status_check
+    CHECK (status IN ('PROCESSING', 'COMPLETED', 'ERROR', 'FAILED_PERMANENTLY', 'CANCELLED', 'TIMED_OUT'));
@@ -0,0 +1,6 @@
+-- lease_expires_at: arrendamento da chave em andamento, renovado pelo nó que roda a submissão. Vencido, o nó
+-- caiu e a chave pode ser liberada; uma submissão longa, mas viva, nunca perde a chave.
+ALTER TABLE videos_idempotency_keys ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE videos_idempotency_keys SET lease_expires_at = created_at + INTERVAL '60 minutes'
+    WHERE completed_at IS NULL AND lease_expires_at IS NULL;